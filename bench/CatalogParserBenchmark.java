@@ -0,0 +1,215 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures catalog parsing throughput, comparing the buffer based parser behind
+ * CourseRecordIO.readCourseRecords with the Scanner based reader it replaced.
+ * The old reader's line parsing is copied here verbatim; its duplicate check,
+ * which compared each Course with every Course kept so far, is replaced by the
+ * same name and section set the current reader uses, so only the parsing of
+ * lines is compared. Before anything is timed, both readers must give the same
+ * Courses in the same order.
+ * 
+ * Run with an optional catalog file and, when no file is given, the number of
+ * records to generate:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.CatalogParserBenchmark [catalog-file | -rows N]
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public final class CatalogParserBenchmark {
+
+	/** Records generated when no catalog file is given */
+	private static final int DEFAULT_ROWS = 300_000;
+	/** Percent of generated records that are not valid Courses */
+	private static final int INVALID_PERCENT = 5;
+	/** Seed of the generated records */
+	private static final long SEED = 5;
+	/** Untimed reads before each measurement */
+	private static final int WARMUP_RUNS = 3;
+	/** Timed reads of each measurement, whose median is reported */
+	private static final int TIMED_RUNS = 7;
+	/** Nanoseconds in a millisecond */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/**
+	 * Not instantiated
+	 */
+	private CatalogParserBenchmark() {
+		// Run through main
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param args an optional catalog file, or -rows and the number of records
+	 *             to generate
+	 * @throws Exception if the catalog cannot be read or generated
+	 */
+	public static void main(String[] args) throws Exception {
+		File file;
+		if (args.length == 1) {
+			file = new File(args[0]);
+		} else {
+			int rows = args.length == 2 && "-rows".equals(args[0]) ? Integer.parseInt(args[1]) : DEFAULT_ROWS;
+			file = SyntheticCatalog.writeFile(rows, INVALID_PERCENT, SEED);
+		}
+		String fileName = file.getPath();
+		CourseLoadReport report = new CourseLoadReport();
+		List<Course> current = CourseRecordIO.readCourseRecords(fileName, report, CatalogLoadMode.STREAMING);
+		List<Course> legacy = legacyReadCourseRecords(fileName);
+		int lines = report.getCoursesRead() + report.getInvalidLineCount();
+		System.out.println("Catalog: " + fileName + ", " + file.length() + " bytes, " + lines + " lines");
+		System.out.println(report);
+
+		if (current.size() != legacy.size()) {
+			System.out.println(
+					"FAIL: the parser read " + current.size() + " Courses but Scanner read " + legacy.size());
+			System.exit(1);
+		}
+		for (int i = 0; i < current.size(); i++) {
+			if (!current.get(i).equals(legacy.get(i))) {
+				System.out.println(
+						"FAIL: Course " + i + " is " + current.get(i) + " but Scanner read " + legacy.get(i));
+				System.exit(1);
+			}
+		}
+		System.out.println("Courses match");
+		System.out.println();
+
+		double scanner = time(() -> legacyReadCourseRecords(fileName));
+		double parser = time(() -> CourseRecordIO.readCourseRecords(fileName, new CourseLoadReport(),
+				CatalogLoadMode.STREAMING));
+		System.out.printf("%-8s %10s %12s %10s%n", "reader", "median ms", "lines/s", "speedup");
+		System.out.printf("%-8s %10.1f %12.0f %9.2fx%n", "scanner", scanner, lines * 1000 / scanner, 1.0);
+		System.out.printf("%-8s %10.1f %12.0f %9.2fx%n", "parser", parser, lines * 1000 / parser, scanner / parser);
+	}
+
+	/**
+	 * Times a read, returning the median of several runs after a warmup
+	 * 
+	 * @param read read to time
+	 * @return the median time in milliseconds
+	 * @throws FileNotFoundException if a read fails
+	 */
+	private static double time(Read read) throws FileNotFoundException {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			read.run();
+		}
+		double[] millis = new double[TIMED_RUNS];
+		for (int i = 0; i < TIMED_RUNS; i++) {
+			long start = System.nanoTime();
+			read.run();
+			millis[i] = (System.nanoTime() - start) / NANOS_PER_MILLI;
+		}
+		Arrays.sort(millis);
+		return millis[TIMED_RUNS / 2];
+	}
+
+	/**
+	 * Reads course records the way CourseRecordIO did with a Scanner, keeping the
+	 * first Course read with each name and section
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	private static ArrayList<Course> legacyReadCourseRecords(String fileName) throws FileNotFoundException {
+		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		ArrayList<Course> courses = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<>();
+		while (fileReader.hasNextLine()) {
+			try {
+				Course course = legacyReadCourse(fileReader.nextLine());
+				if (seen.add(course.getName() + "," + course.getSection())) {
+					courses.add(course);
+				}
+			} catch (IllegalArgumentException e) {
+				// The line is invalid b/c we couldn't create a course, skip it!
+			}
+		}
+		fileReader.close();
+		return courses;
+	}
+
+	/**
+	 * Old CourseRecordIO.readCourse
+	 * 
+	 * @param line all necessary information about a course
+	 * @return a course object with all the given information
+	 * @throws IllegalArgumentException if the course information in the file is
+	 *                                  in the wrong format
+	 */
+	private static Course legacyReadCourse(String line) {
+		Scanner lineReader = new Scanner(line);
+
+		lineReader.useDelimiter(",");
+
+		try {
+			String name = lineReader.next();
+			String title = lineReader.next();
+			String section = lineReader.next();
+			int credits = lineReader.nextInt();
+			String instructor = lineReader.next();
+			String meetingDay = lineReader.next();
+
+			if ("A".equals(meetingDay)) {
+				if (lineReader.hasNext()) {
+					lineReader.close();
+					throw new IllegalArgumentException("Invalid Course.");
+				} else {
+					Course c1 = new Course(name, title, section, credits, instructor, meetingDay);
+					lineReader.close();
+					return c1;
+				}
+			} else {
+				int startTime = lineReader.nextInt();
+				int endTime = lineReader.nextInt();
+
+				if (lineReader.hasNext()) {
+					lineReader.close();
+					throw new IllegalArgumentException("Invalid Course.");
+				}
+
+				Course c2 = new Course(name, title, section, credits, instructor, meetingDay, startTime, endTime);
+				lineReader.close();
+				return c2;
+			}
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Invalid Course.");
+		}
+	}
+
+	/**
+	 * A catalog read to time
+	 */
+	private interface Read {
+
+		/**
+		 * Reads the catalog
+		 * 
+		 * @throws FileNotFoundException if the catalog cannot be read
+		 */
+		void run() throws FileNotFoundException;
+
+	}
+
+}
@@ -0,0 +1,452 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Measures Course validation per record, comparing the current Course
+ * constructors with the validation Course did before it was reworked. The old
+ * validators are copied here verbatim, and a record they accept is then built
+ * with Course.fromValidated, so both paths produce the same Courses. Before
+ * anything is timed, every record is checked to be accepted or rejected the same
+ * way, with the same message, by both paths.
+ * 
+ * Records are split and their numbers parsed before timing, so only validation
+ * and construction are measured. Run with optional numbers of records and
+ * percent of invalid records:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.CourseValidationBenchmark [records [invalid-percent]]
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public final class CourseValidationBenchmark {
+
+	/** Records validated when no number is given */
+	private static final int DEFAULT_RECORDS = 200_000;
+	/** Percent of invalid records when none is given */
+	private static final int DEFAULT_INVALID_PERCENT = 5;
+	/** Seed of the generated records */
+	private static final long SEED = 3;
+	/** Untimed passes over the records before measuring */
+	private static final int WARMUP_RUNS = 10;
+	/** Timed passes over the records, whose median is reported */
+	private static final int TIMED_RUNS = 11;
+	/** Shortest valid Course name */
+	private static final int MIN_NAME_LENGTH = 5;
+	/** Longest valid Course name */
+	private static final int MAX_NAME_LENGTH = 8;
+	/** Most credits a Course can have */
+	private static final int MAX_CREDITS = 5;
+	/** Fewest credits a Course can have */
+	private static final int MIN_CREDITS = 1;
+
+	/** Keeps the results of timed passes live so they are not optimized away */
+	private static long sink;
+
+	/**
+	 * Not instantiated
+	 */
+	private CourseValidationBenchmark() {
+		// Run through main
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param args optional numbers of records and percent of invalid records
+	 */
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+		int invalidPercent = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_INVALID_PERCENT;
+		Row[] rows = split(SyntheticCatalog.records(count, invalidPercent, SEED));
+
+		int rejected = 0;
+		for (Row row : rows) {
+			String current = outcome(row, true);
+			String legacy = outcome(row, false);
+			if (!current.equals(legacy)) {
+				System.out.println("FAIL: " + row + " gives " + current + " but the old validation gives " + legacy);
+				System.exit(1);
+			}
+			if (current.startsWith("!")) {
+				rejected++;
+			}
+		}
+		System.out.println("Records: " + rows.length + ", rejected: " + rejected + ", outcomes match");
+
+		double legacy = time(rows, false);
+		double current = time(rows, true);
+		System.out.printf("%-8s %10s %10s%n", "path", "ns/record", "speedup");
+		System.out.printf("%-8s %10.1f %9.2fx%n", "legacy", legacy, 1.0);
+		System.out.printf("%-8s %10.1f %9.2fx%n", "current", current, legacy / current);
+		if (sink == 42) {
+			System.out.println();
+		}
+	}
+
+	/**
+	 * Splits records into their fields and parses their numbers
+	 * 
+	 * @param records Course records
+	 * @return the split records
+	 */
+	private static Row[] split(List<String> records) {
+		Row[] rows = new Row[records.size()];
+		for (int i = 0; i < rows.length; i++) {
+			String[] f = records.get(i).split(",", -1);
+			rows[i] = f.length == 6 ? new Row(f[0], f[1], f[2], Integer.parseInt(f[3]), f[4], f[5], 0, 0)
+					: new Row(f[0], f[1], f[2], Integer.parseInt(f[3]), f[4], f[5], Integer.parseInt(f[6]),
+							Integer.parseInt(f[7]));
+		}
+		return rows;
+	}
+
+	/**
+	 * Validates a record, describing the outcome
+	 * 
+	 * @param row     record to validate
+	 * @param current whether to use the current constructors or the old
+	 *                validation
+	 * @return the Course as a string, or the rejection message after a !
+	 */
+	private static String outcome(Row row, boolean current) {
+		try {
+			return build(row, current).toString();
+		} catch (IllegalArgumentException e) {
+			return "!" + e.getMessage();
+		}
+	}
+
+	/**
+	 * Times passes over every record, returning the median time per record
+	 * 
+	 * @param rows    records to validate
+	 * @param current whether to use the current constructors or the old
+	 *                validation
+	 * @return the median time per record in nanoseconds
+	 */
+	private static double time(Row[] rows, boolean current) {
+		double[] nanos = new double[TIMED_RUNS];
+		for (int run = -WARMUP_RUNS; run < TIMED_RUNS; run++) {
+			long start = System.nanoTime();
+			long accepted = 0;
+			for (Row row : rows) {
+				try {
+					accepted += build(row, current).getCredits();
+				} catch (IllegalArgumentException e) {
+					accepted--;
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+			sink += accepted;
+			if (run >= 0) {
+				nanos[run] = (double) elapsed / rows.length;
+			}
+		}
+		Arrays.sort(nanos);
+		return nanos[TIMED_RUNS / 2];
+	}
+
+	/**
+	 * Builds the Course of a record
+	 * 
+	 * @param row     record to build
+	 * @param current whether to use the current constructors or the old
+	 *                validation
+	 * @return the Course
+	 * @throws IllegalArgumentException if the record is not a valid Course
+	 */
+	private static Course build(Row row, boolean current) {
+		if (current) {
+			return new Course(row.name, row.title, row.section, row.credits, row.instructorId, row.meetingDays,
+					row.startTime, row.endTime);
+		}
+		legacyValidate(row);
+		return Course.fromValidated(row.name, row.title, row.section, row.credits, row.instructorId, row.meetingDays,
+				row.startTime, row.endTime);
+	}
+
+	/**
+	 * Validates a record the way Course did before it was reworked, checking its
+	 * fields in the order its constructor set them
+	 * 
+	 * @param row record to validate
+	 * @throws IllegalArgumentException if the record is not a valid Course
+	 */
+	private static void legacyValidate(Row row) {
+		legacySetTitle(row.title);
+		legacyCourseSetMeetingDaysAndTime(row.meetingDays, row.startTime, row.endTime);
+		legacySetName(row.name);
+		legacySetSection(row.section);
+		legacySetCredits(row.credits);
+		legacySetInstructorId(row.instructorId);
+	}
+
+	/**
+	 * Old Activity.setTitle
+	 * 
+	 * @param title the title to check
+	 * @throws IllegalArgumentException if the title is null or empty
+	 */
+	private static void legacySetTitle(String title) {
+		if (title == null || title.length() == 0) {
+			throw new IllegalArgumentException("Invalid title.");
+		}
+	}
+
+	/**
+	 * Old Course.setMeetingDaysAndTime
+	 * 
+	 * @param meetingDays meeting days to check
+	 * @param startTime   start time to check
+	 * @param endTime     end time to check
+	 * @throws IllegalArgumentException if the meeting days or times are invalid
+	 */
+	private static void legacyCourseSetMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+
+		if ("A".equals(meetingDays) && (startTime != 0 || endTime != 0)) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+
+		}
+
+		int arrangedCount = 0;
+		int mondayCount = 0;
+		int tuesdayCount = 0;
+		int wednesdayCount = 0;
+		int thursdayCount = 0;
+		int fridayCount = 0;
+
+		if (meetingDays.contains("A") && meetingDays.length() > 1) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		} else {
+			for (int i = 0; i < meetingDays.length(); i++) {
+				if (meetingDays.substring(i, i + 1).equals("M")) {
+					mondayCount++;
+				} else if (meetingDays.substring(i, i + 1).equals("T")) {
+					tuesdayCount++;
+				} else if (meetingDays.substring(i, i + 1).equals("W")) {
+					wednesdayCount++;
+				} else if (meetingDays.substring(i, i + 1).equals("H")) {
+					thursdayCount++;
+				} else if (meetingDays.substring(i, i + 1).equals("F")) {
+					fridayCount++;
+				} else if (meetingDays.substring(i, i + 1).equals("A")) {
+					arrangedCount++;
+				} else {
+					throw new IllegalArgumentException("Invalid meeting days and times.");
+				}
+			}
+
+		}
+		if (mondayCount > 1 || tuesdayCount > 1 || wednesdayCount > 1 || thursdayCount > 1 || fridayCount > 1
+				|| arrangedCount > 1) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		legacyActivitySetMeetingDaysAndTime(meetingDays, startTime, endTime);
+
+	}
+
+	/**
+	 * Old Activity.setMeetingDaysAndTime
+	 * 
+	 * @param meetingDays meeting days to check
+	 * @param startTime   start time to check
+	 * @param endTime     end time to check
+	 * @throws IllegalArgumentException if the meeting days or times are invalid
+	 */
+	private static void legacyActivitySetMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+		if (meetingDays == null || meetingDays.length() == 0) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		int startHour = startTime / 100;
+		int startMin = startTime % 100;
+		int endHour = endTime / 100;
+		int endMin = endTime % 100;
+
+		if (startHour < 0 || startHour > 23) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		if (startMin < 0 || startMin > 59) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		if (endHour < 0 || endHour > 23) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		if (endMin < 0 || endMin > 59) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		if (startTime > endTime) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+	}
+
+	/**
+	 * Old Course.setName
+	 * 
+	 * @param name the name to check
+	 * @throws IllegalArgumentException if the name is not of the form L[LLL] NNN
+	 */
+	private static void legacySetName(String name) {
+		// Throw an exception if the name is null
+		if (name == null) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+
+		// Throw exception if name is an empty string
+		// Throw exception if the name contains less than 5 characters or greater than 8
+		// characters
+		if (name.length() < MIN_NAME_LENGTH || name.length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+
+		// Check for pattern of L[LLL] NNN
+
+		int letterCounter = 0;
+		int digitsCounter = 0;
+		boolean hasSpace = false;
+		String letters = "abcdefghijklmnopqrstuvwxyz";
+		String digits = "0123456789";
+
+		for (int i = 0; i < name.length(); i++) {
+			if (!hasSpace) {
+				if (letters.indexOf(name.substring(i, i + 1).toLowerCase()) >= 0) {
+					letterCounter++;
+				} else if (name.substring(i, i + 1).equals(" ")) {
+					hasSpace = true;
+				} else {
+					throw new IllegalArgumentException("Invalid course name.");
+				}
+			} else if (hasSpace) {
+				if (digits.indexOf(name.substring(i, i + 1).toLowerCase()) >= 0) {
+					digitsCounter++;
+				} else {
+					throw new IllegalArgumentException("Invalid course name.");
+				}
+			}
+		}
+
+		if (letterCounter < 1 || letterCounter > 4) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+
+		if (digitsCounter != 3) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+	}
+
+	/**
+	 * Old Course.setSection
+	 * 
+	 * @param section the section to check
+	 * @throws IllegalArgumentException if the section is not three digits
+	 */
+	private static void legacySetSection(String section) {
+		if (section == null || section.length() != 3) {
+			throw new IllegalArgumentException("Invalid section.");
+		}
+
+		for (int i = 0; i < section.length(); i++) {
+			if (!Character.isDigit(section.charAt(i))) {
+				throw new IllegalArgumentException("Invalid section.");
+			}
+		}
+	}
+
+	/**
+	 * Old Course.setCredits
+	 * 
+	 * @param credits the credits to check
+	 * @throws IllegalArgumentException if the credits are out of range
+	 */
+	private static void legacySetCredits(int credits) {
+
+		if (credits < MIN_CREDITS || credits > MAX_CREDITS) {
+			throw new IllegalArgumentException("Invalid credits.");
+		}
+	}
+
+	/**
+	 * Old Course.setInstructorId
+	 * 
+	 * @param instructorId the instructor id to check
+	 * @throws IllegalArgumentException if the instructor id is null or empty
+	 */
+	private static void legacySetInstructorId(String instructorId) {
+
+		if (instructorId == null || instructorId.length() == 0) {
+			throw new IllegalArgumentException("Invalid instructor id.");
+		}
+	}
+
+	/**
+	 * A Course record split into its fields
+	 */
+	private static final class Row {
+
+		/** Course name */
+		private final String name;
+		/** Course title */
+		private final String title;
+		/** Course section */
+		private final String section;
+		/** Credit hours */
+		private final int credits;
+		/** Instructor's unity id */
+		private final String instructorId;
+		/** Meeting days */
+		private final String meetingDays;
+		/** Start time, 0 for an arranged record */
+		private final int startTime;
+		/** End time, 0 for an arranged record */
+		private final int endTime;
+
+		/**
+		 * Constructs a split record
+		 * 
+		 * @param name         Course name
+		 * @param title        Course title
+		 * @param section      Course section
+		 * @param credits      credit hours
+		 * @param instructorId instructor's unity id
+		 * @param meetingDays  meeting days
+		 * @param startTime    start time
+		 * @param endTime      end time
+		 */
+		Row(String name, String title, String section, int credits, String instructorId, String meetingDays,
+				int startTime, int endTime) {
+			this.name = name;
+			this.title = title;
+			this.section = section;
+			this.credits = credits;
+			this.instructorId = instructorId;
+			this.meetingDays = meetingDays;
+			this.startTime = startTime;
+			this.endTime = endTime;
+		}
+
+		/**
+		 * Returns the record in the catalog file format
+		 * 
+		 * @return the record
+		 */
+		@Override
+		public String toString() {
+			return name + "," + title + "," + section + "," + credits + "," + instructorId + "," + meetingDays + ","
+					+ startTime + "," + endTime;
+		}
+
+	}
+
+}
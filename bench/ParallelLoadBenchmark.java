@@ -0,0 +1,197 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures how parallel catalog parsing scales with the number of cores. The
+ * catalog is loaded through the streaming and mapped readers as baselines, and
+ * then through CourseRecordIO.readCourseRecordsParallel on fork-join pools of
+ * 1, 2, 4 and so on up to the number of available processors. Every parallel
+ * load is checked against the streaming load, Course by Course and count by
+ * count, before its time is reported.
+ * 
+ * Run with an optional catalog file and, when no file is given, the number of
+ * records to generate:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.ParallelLoadBenchmark [catalog-file | -rows N]
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ParallelLoadBenchmark {
+
+	/** Records generated when no catalog file is given */
+	private static final int DEFAULT_ROWS = 1_000_000;
+	/** Percent of generated records that are not valid Courses */
+	private static final int INVALID_PERCENT = 2;
+	/** Seed of the generated records */
+	private static final long SEED = 42;
+	/** Untimed loads before each measurement */
+	private static final int WARMUP_RUNS = 3;
+	/** Timed loads of each measurement, whose median is reported */
+	private static final int TIMED_RUNS = 7;
+	/** Nanoseconds in a millisecond */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/**
+	 * Not instantiated
+	 */
+	private ParallelLoadBenchmark() {
+		// Run through main
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param args an optional catalog file, or -rows and the number of records
+	 *             to generate
+	 * @throws IOException if the catalog cannot be read or generated
+	 */
+	public static void main(String[] args) throws IOException {
+		File file;
+		if (args.length == 1) {
+			file = new File(args[0]);
+		} else {
+			int rows = args.length == 2 && "-rows".equals(args[0]) ? Integer.parseInt(args[1]) : DEFAULT_ROWS;
+			file = SyntheticCatalog.writeFile(rows, INVALID_PERCENT, SEED);
+		}
+		String fileName = file.getPath();
+		int cores = Runtime.getRuntime().availableProcessors();
+		System.out.println("Catalog: " + fileName + ", " + file.length() + " bytes, " + cores + " processors");
+
+		CourseLoadReport expectedReport = new CourseLoadReport();
+		List<Course> expected = CourseRecordIO.readCourseRecords(fileName, expectedReport, CatalogLoadMode.STREAMING);
+		System.out.println(expectedReport);
+		System.out.println();
+
+		double streaming = time(() -> CourseRecordIO.readCourseRecords(fileName, new CourseLoadReport(),
+				CatalogLoadMode.STREAMING));
+		double mapped = time(
+				() -> CourseRecordIO.readCourseRecords(fileName, new CourseLoadReport(), CatalogLoadMode.MAPPED));
+		System.out.printf("%-10s %10s %12s %10s%n", "loader", "median ms", "courses/s", "speedup");
+		print("streaming", streaming, expected.size(), streaming);
+		print("mapped", mapped, expected.size(), streaming);
+
+		double oneCore = 0;
+		for (int parallelism : parallelisms(cores)) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				CourseLoadReport report = new CourseLoadReport();
+				check(expected, expectedReport, CourseRecordIO.readCourseRecordsParallel(fileName, report, pool),
+						report, parallelism);
+				double millis = time(() -> CourseRecordIO.readCourseRecordsParallel(fileName,
+						new CourseLoadReport(), pool));
+				if (parallelism == 1) {
+					oneCore = millis;
+				}
+				print("parallel " + parallelism, millis, expected.size(), streaming);
+				System.out.printf("%-10s %10s %12s %9.2fx over 1 core%n", "", "", "", oneCore / millis);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Lists the pool sizes to measure: powers of two below the number of
+	 * processors, then the number of processors
+	 * 
+	 * @param cores number of available processors
+	 * @return the pool sizes in increasing order
+	 */
+	private static List<Integer> parallelisms(int cores) {
+		ArrayList<Integer> sizes = new ArrayList<>();
+		for (int p = 1; p < cores; p *= 2) {
+			sizes.add(p);
+		}
+		sizes.add(cores);
+		return sizes;
+	}
+
+	/**
+	 * Checks that a parallel load gave the same Courses, in the same order, and
+	 * the same report as the streaming load
+	 * 
+	 * @param expected       Courses from the streaming load
+	 * @param expectedReport report of the streaming load
+	 * @param actual         Courses from the parallel load
+	 * @param report         report of the parallel load
+	 * @param parallelism    size of the pool the parallel load ran on
+	 * @throws IllegalStateException if the loads differ
+	 */
+	private static void check(List<Course> expected, CourseLoadReport expectedReport, List<Course> actual,
+			CourseLoadReport report, int parallelism) {
+		boolean same = expected.size() == actual.size()
+				&& expectedReport.getCoursesRead() == report.getCoursesRead()
+				&& expectedReport.getDuplicateCount() == report.getDuplicateCount()
+				&& expectedReport.getRejectedLines().equals(report.getRejectedLines());
+		for (int i = 0; same && i < expected.size(); i++) {
+			same = Arrays.equals(expected.get(i).getLongDisplayArray(), actual.get(i).getLongDisplayArray());
+		}
+		if (!same) {
+			throw new IllegalStateException("Parallel load on " + parallelism + " threads differs from streaming");
+		}
+	}
+
+	/**
+	 * Times a load, returning the median of several runs after a warmup
+	 * 
+	 * @param load load to time
+	 * @return the median time in milliseconds
+	 * @throws IOException if a load fails
+	 */
+	private static double time(Load load) throws IOException {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			load.run();
+		}
+		double[] millis = new double[TIMED_RUNS];
+		for (int i = 0; i < TIMED_RUNS; i++) {
+			long start = System.nanoTime();
+			load.run();
+			millis[i] = (System.nanoTime() - start) / NANOS_PER_MILLI;
+		}
+		Arrays.sort(millis);
+		return millis[TIMED_RUNS / 2];
+	}
+
+	/**
+	 * Prints one line of the results table
+	 * 
+	 * @param loader    name of the loader
+	 * @param millis    median load time in milliseconds
+	 * @param courses   number of Courses loaded
+	 * @param streaming median streaming load time in milliseconds
+	 */
+	private static void print(String loader, double millis, int courses, double streaming) {
+		System.out.printf("%-10s %10.1f %12.0f %9.2fx%n", loader, millis, courses * 1000 / millis, streaming / millis);
+	}
+
+	/**
+	 * A catalog load to time
+	 */
+	private interface Load {
+
+		/**
+		 * Loads the catalog
+		 * 
+		 * @throws IOException if the catalog cannot be read
+		 */
+		void run() throws IOException;
+
+	}
+
+}
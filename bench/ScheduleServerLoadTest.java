@@ -0,0 +1,353 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.server.ScheduleServer;
+
+/**
+ * Load test of ScheduleServer that runs entirely on localhost. The server is
+ * started on an ephemeral loopback port, and each simulated registrant runs on
+ * its own virtual thread when the JVM has them, or on a pooled thread
+ * otherwise. A registrant opens a session, makes a random mix of catalog
+ * browses, course and event adds, removes, schedule views and exports, and
+ * closes its session. At most 128 requests are in flight at once. That stays
+ * under the 200 idle connections the JDK server keeps open, because a
+ * connection beyond that limit is closed and a client that reuses it sees a
+ * failed request rather than a slow one.
+ * 
+ * Adds and removes the server refuses, such as a conflicting course or a
+ * remove past the end of the schedule, are counted as rejected. Any 5xx
+ * response or failed request is an error, and the process exits with status 1
+ * if there are any.
+ * 
+ * Run with an optional catalog file, number of registrants and number of
+ * operations per registrant:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.ScheduleServerLoadTest [catalog-file [sessions [operations]]]
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ScheduleServerLoadTest {
+
+	/** Registrants when none are given */
+	private static final int DEFAULT_SESSIONS = 2_000;
+	/** Operations per registrant when none are given */
+	private static final int DEFAULT_OPERATIONS = 20;
+	/** Most requests in flight at once, below the JDK server's idle connection limit */
+	private static final int MAX_IN_FLIGHT = 128;
+	/** Records generated for the catalog when no catalog file is given */
+	private static final int CATALOG_RECORDS = 20_000;
+	/** Meeting days registrants give events */
+	private static final String[] EVENT_DAYS = { "M", "TH", "WF", "S", "SU" };
+	/** Seed of the generated catalog and of the registrants */
+	private static final long SEED = 13;
+	/** Longest a request may take before it counts as an error */
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	/** Nanoseconds in a millisecond */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/** Operations the registrants can make, in the order they are reported */
+	private enum Operation {
+		/** GET /catalog?name=N */
+		BROWSE,
+		/** POST /sessions/{id}/courses */
+		ADD_COURSE,
+		/** POST /sessions/{id}/events */
+		ADD_EVENT,
+		/** DELETE /sessions/{id}/activities/{index} */
+		REMOVE,
+		/** GET /sessions/{id}/schedule */
+		VIEW,
+		/** GET /sessions/{id}/export */
+		EXPORT,
+		/** POST /sessions and DELETE /sessions/{id} */
+		SESSION
+	}
+
+	/** Requests answered with 2xx, by operation */
+	private final LongAdder[] succeeded = newCounters();
+	/** Requests answered with 4xx, by operation */
+	private final LongAdder[] rejected = newCounters();
+	/** Requests answered with 5xx or that failed, by operation */
+	private final LongAdder[] errors = newCounters();
+	/** Latency of every request, in nanoseconds, by registrant */
+	private final long[][] latencies;
+	/** First error seen, or null if there was none */
+	private final AtomicReference<String> firstError = new AtomicReference<>();
+
+	/** Client every registrant sends requests through */
+	private final HttpClient client;
+	/** Address of the server */
+	private final String base;
+	/** Courses registrants browse and add */
+	private final List<Course> courses;
+	/** Permits for the requests that may be in flight */
+	private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+	/**
+	 * Constructs a load test against a running server
+	 * 
+	 * @param client     client to send requests through
+	 * @param port       port the server listens on
+	 * @param courses    Courses in the server's catalog
+	 * @param sessions   number of registrants
+	 * @param operations operations per registrant
+	 */
+	private ScheduleServerLoadTest(HttpClient client, int port, List<Course> courses, int sessions,
+			int operations) {
+		this.client = client;
+		this.base = "http://127.0.0.1:" + port;
+		this.courses = courses;
+		this.latencies = new long[sessions][operations + 2];
+	}
+
+	/**
+	 * Runs the load test
+	 * 
+	 * @param args an optional catalog file, number of registrants and number of
+	 *             operations per registrant
+	 * @throws Exception if the catalog cannot be read, the server cannot start or
+	 *                   the test is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		CourseCatalog catalog = args.length > 0 ? CourseCatalog.load(args[0], CatalogLoadMode.STREAMING)
+				: new CourseCatalog(SyntheticCatalog.courses(CATALOG_RECORDS, SEED));
+		int sessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SESSIONS;
+		int operations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_OPERATIONS;
+
+		ExecutorService registrants = newRegistrantExecutor();
+		try (ScheduleServer server = new ScheduleServer(catalog, 0, sessions, TimeUnit.MINUTES.toMillis(10))) {
+			server.start();
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(REQUEST_TIMEOUT).build();
+			ScheduleServerLoadTest test = new ScheduleServerLoadTest(client, server.getPort(), catalog.getCourses(),
+					sessions, operations);
+
+			long start = System.nanoTime();
+			for (int s = 0; s < sessions; s++) {
+				int registrant = s;
+				registrants.execute(() -> test.register(registrant, new Random(SEED + registrant), operations));
+			}
+			registrants.shutdown();
+			registrants.awaitTermination(1, TimeUnit.HOURS);
+			long elapsed = System.nanoTime() - start;
+
+			System.out.println("Catalog: " + catalog.size() + " courses, registrants: " + sessions
+					+ ", operations each: " + operations + ", in flight: " + MAX_IN_FLIGHT + ", open sessions left: "
+					+ server.getSessionCount());
+			boolean passed = test.report(elapsed);
+			if (!passed) {
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Creates an executor that runs each registrant on a new virtual thread,
+	 * falling back to a cached pool of platform threads on JVMs without virtual
+	 * threads, as ScheduleServer does for requests
+	 * 
+	 * @return the executor
+	 */
+	private static ExecutorService newRegistrantExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Creates one counter per operation
+	 * 
+	 * @return the counters
+	 */
+	private static LongAdder[] newCounters() {
+		LongAdder[] counters = new LongAdder[Operation.values().length];
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new LongAdder();
+		}
+		return counters;
+	}
+
+	/**
+	 * Runs one registrant: opens a session, makes random operations on it and
+	 * closes it
+	 * 
+	 * @param registrant number of the registrant
+	 * @param random     source of the operations
+	 * @param operations number of operations to make
+	 */
+	private void register(int registrant, Random random, int operations) {
+		long[] times = latencies[registrant];
+		HttpResponse<String> opened = send(Operation.SESSION, "POST", "/sessions", times, 0);
+		if (opened == null || opened.statusCode() != 201) {
+			return;
+		}
+		String session = "/sessions/" + opened.body().trim();
+		for (int i = 1; i <= operations; i++) {
+			int choice = random.nextInt(100);
+			Course c = courses.get(random.nextInt(courses.size()));
+			if (choice < 30) {
+				send(Operation.BROWSE, "GET", "/catalog?name=" + encode(c.getName()), times, i);
+			} else if (choice < 55) {
+				send(Operation.ADD_COURSE, "POST",
+						session + "/courses?name=" + encode(c.getName()) + "&section=" + c.getSection(), times, i);
+			} else if (choice < 60) {
+				int start = 6 + random.nextInt(14);
+				send(Operation.ADD_EVENT, "POST",
+						session + "/events?title=Event%20" + random.nextInt(10) + "&days="
+								+ EVENT_DAYS[random.nextInt(EVENT_DAYS.length)] + "&start=" + start * 100 + "&end="
+								+ (start + 1) * 100,
+						times, i);
+			} else if (choice < 75) {
+				send(Operation.REMOVE, "DELETE", session + "/activities/" + random.nextInt(4), times, i);
+			} else if (choice < 90) {
+				send(Operation.VIEW, "GET", session + "/schedule", times, i);
+			} else {
+				send(Operation.EXPORT, "GET", session + "/export", times, i);
+			}
+		}
+		send(Operation.SESSION, "DELETE", session, times, operations + 1);
+	}
+
+	/**
+	 * Sends a request, counting its outcome and recording its latency
+	 * 
+	 * @param operation operation the request makes
+	 * @param method    request method
+	 * @param path      request path and query
+	 * @param times     latencies of the registrant's requests
+	 * @param slot      index to record the latency at
+	 * @return the response, or null if the request failed
+	 */
+	private HttpResponse<String> send(Operation operation, String method, String path, long[] times, int slot) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).timeout(REQUEST_TIMEOUT)
+				.method(method, HttpRequest.BodyPublishers.noBody()).build();
+		inFlight.acquireUninterruptibly();
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			times[slot] = System.nanoTime() - start;
+			int status = response.statusCode();
+			if (status < 300) {
+				succeeded[operation.ordinal()].increment();
+			} else if (status < 500) {
+				rejected[operation.ordinal()].increment();
+			} else {
+				error(operation, method + " " + path + " gave " + status + ": " + response.body().trim());
+			}
+			return response;
+		} catch (IOException e) {
+			times[slot] = System.nanoTime() - start;
+			error(operation, method + " " + path + " failed: " + e);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error(operation, method + " " + path + " was interrupted");
+			return null;
+		} finally {
+			inFlight.release();
+		}
+	}
+
+	/**
+	 * Counts an error, keeping the first one seen
+	 * 
+	 * @param operation operation that failed
+	 * @param problem   description of the error
+	 */
+	private void error(Operation operation, String problem) {
+		errors[operation.ordinal()].increment();
+		firstError.compareAndSet(null, problem);
+	}
+
+	/**
+	 * Encodes a query parameter value
+	 * 
+	 * @param value value to encode
+	 * @return the encoded value
+	 */
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+	}
+
+	/**
+	 * Prints the throughput, outcomes and latencies of the run
+	 * 
+	 * @param elapsedNanos time the run took
+	 * @return true if there were no errors
+	 */
+	private boolean report(long elapsedNanos) {
+		long total = 0;
+		long errorCount = 0;
+		System.out.printf("%-10s %10s %10s %10s%n", "operation", "ok", "rejected", "errors");
+		for (Operation op : Operation.values()) {
+			int i = op.ordinal();
+			total += succeeded[i].sum() + rejected[i].sum() + errors[i].sum();
+			errorCount += errors[i].sum();
+			System.out.printf("%-10s %10d %10d %10d%n", op.name().toLowerCase(), succeeded[i].sum(),
+					rejected[i].sum(), errors[i].sum());
+		}
+
+		ArrayList<Long> all = new ArrayList<>();
+		for (long[] times : latencies) {
+			for (long t : times) {
+				if (t > 0) {
+					all.add(t);
+				}
+			}
+		}
+		all.sort(null);
+		double seconds = elapsedNanos / 1e9;
+		System.out.printf("Requests: %d in %.2f s, %.0f requests/s%n", total, seconds, total / seconds);
+		if (!all.isEmpty()) {
+			System.out.printf("Latency ms: p50 %.2f, p99 %.2f, max %.2f%n", percentile(all, 50) / NANOS_PER_MILLI,
+					percentile(all, 99) / NANOS_PER_MILLI, all.get(all.size() - 1) / NANOS_PER_MILLI);
+		}
+		if (errorCount > 0) {
+			System.out.println("FAIL: " + errorCount + " errors, first: " + firstError.get());
+			return false;
+		}
+		System.out.println("PASS");
+		return true;
+	}
+
+	/**
+	 * Gets a percentile of sorted latencies
+	 * 
+	 * @param sorted  latencies in increasing order
+	 * @param percent percentile to get
+	 * @return the latency at the percentile
+	 */
+	private static long percentile(List<Long> sorted, int percent) {
+		return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percent / 100));
+	}
+
+}
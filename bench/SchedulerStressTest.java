@@ -0,0 +1,261 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Stress test of one WolfScheduler shared by many threads. Writer threads add
+ * Courses and Events and remove Activities at random, counting every change
+ * the scheduler accepts, while a reader thread keeps checking that each copy
+ * of the schedule it takes is free of conflicts. When the writers finish, the
+ * schedule must hold exactly the Activities added and not removed, with no
+ * conflicting pair, no Course name or Event title twice, and display rows that
+ * match its Activities.
+ * 
+ * Run with an optional catalog file, number of writer threads and number of
+ * operations per writer:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.SchedulerStressTest [catalog-file [threads [operations]]]
+ * </pre>
+ * 
+ * The process exits with status 1 if any check fails.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class SchedulerStressTest {
+
+	/** Writer threads when none are given */
+	private static final int DEFAULT_THREADS = 8;
+	/** Operations per writer when none are given */
+	private static final int DEFAULT_OPERATIONS = 200_000;
+	/** Records generated for the catalog when no catalog file is given */
+	private static final int CATALOG_RECORDS = 2_000;
+	/** Number of distinct Event titles the writers use */
+	private static final int EVENT_TITLES = 50;
+	/** Meeting days the writers give Events */
+	private static final String[] EVENT_DAYS = { "M", "TH", "WF", "S", "SU", "MTWHF" };
+	/** Seed of the generated catalog and of the writers */
+	private static final long SEED = 7;
+
+	/** Changes the scheduler accepted: Activities added */
+	private final AtomicLong added = new AtomicLong();
+	/** Changes the scheduler accepted: Activities removed */
+	private final AtomicLong removed = new AtomicLong();
+	/** Adds the scheduler rejected as a duplicate or conflict */
+	private final AtomicLong rejected = new AtomicLong();
+	/** Copies of the schedule the reader checked */
+	private final AtomicLong snapshots = new AtomicLong();
+	/** First problem found, or null if every check passed */
+	private final AtomicReference<String> failure = new AtomicReference<>();
+
+	/** Scheduler the threads share */
+	private final WolfScheduler scheduler;
+	/** Courses the writers add */
+	private final List<Course> courses;
+
+	/**
+	 * Constructs a stress test over a catalog
+	 * 
+	 * @param catalog catalog to schedule from
+	 */
+	private SchedulerStressTest(CourseCatalog catalog) {
+		this.scheduler = new WolfScheduler(catalog);
+		this.courses = catalog.getCourses();
+	}
+
+	/**
+	 * Runs the stress test
+	 * 
+	 * @param args an optional catalog file, number of writer threads and number
+	 *             of operations per writer
+	 * @throws Exception if the catalog cannot be read or the test is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		CourseCatalog catalog = args.length > 0 ? CourseCatalog.load(args[0], CatalogLoadMode.STREAMING)
+				: new CourseCatalog(SyntheticCatalog.courses(CATALOG_RECORDS, SEED));
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+		int operations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_OPERATIONS;
+
+		SchedulerStressTest test = new SchedulerStressTest(catalog);
+		long start = System.nanoTime();
+		String problem = test.run(threads, operations);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		System.out.println("Catalog: " + catalog.size() + " courses, threads: " + threads + ", operations: "
+				+ (long) threads * operations + ", " + millis + " ms");
+		System.out.println("Added: " + test.added + ", removed: " + test.removed + ", rejected: " + test.rejected
+				+ ", snapshots checked: " + test.snapshots);
+		if (problem != null) {
+			System.out.println("FAIL: " + problem);
+			System.exit(1);
+		}
+		System.out.println("PASS");
+	}
+
+	/**
+	 * Runs the writers and the reader, then checks the final schedule
+	 * 
+	 * @param threads    number of writer threads
+	 * @param operations operations per writer
+	 * @return the first problem found, or null if every check passed
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	private String run(int threads, int operations) throws InterruptedException {
+		CountDownLatch go = new CountDownLatch(1);
+		CountDownLatch writersDone = new CountDownLatch(threads);
+		Thread[] writers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			long seed = SEED + t;
+			writers[t] = new Thread(() -> {
+				try {
+					go.await();
+					write(new Random(seed), operations);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (RuntimeException e) {
+					fail("Writer threw " + e);
+				} finally {
+					writersDone.countDown();
+				}
+			}, "writer-" + t);
+			writers[t].start();
+		}
+		Thread reader = new Thread(() -> {
+			try {
+				go.await();
+				while (writersDone.getCount() > 0 && failure.get() == null) {
+					String problem = check(scheduler.toNamedSchedule("stress").getActivities());
+					if (problem != null) {
+						fail("Snapshot " + problem);
+					}
+					snapshots.incrementAndGet();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				fail("Reader threw " + e);
+			}
+		}, "reader");
+		reader.start();
+
+		go.countDown();
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		reader.join();
+		if (failure.get() != null) {
+			return failure.get();
+		}
+		return checkFinal();
+	}
+
+	/**
+	 * Applies random changes to the shared schedule
+	 * 
+	 * @param random     source of the changes
+	 * @param operations number of changes to try
+	 */
+	private void write(Random random, int operations) {
+		for (int i = 0; i < operations && failure.get() == null; i++) {
+			int choice = random.nextInt(10);
+			try {
+				if (choice < 5) {
+					Course c = courses.get(random.nextInt(courses.size()));
+					if (scheduler.addCourseToSchedule(c.getName(), c.getSection())) {
+						added.incrementAndGet();
+					} else {
+						fail("Course " + c.getName() + "-" + c.getSection() + " not found in its catalog");
+					}
+				} else if (choice < 6) {
+					int start = 6 * 60 + random.nextInt(56) * 15;
+					scheduler.addEventToSchedule("Event " + random.nextInt(EVENT_TITLES),
+							EVENT_DAYS[random.nextInt(EVENT_DAYS.length)], Activity.toMilitaryTime(start),
+							Activity.toMilitaryTime(start + 30 + random.nextInt(12) * 15), "stress");
+					added.incrementAndGet();
+				} else if (scheduler.removeActivityFromSchedule(random.nextInt(16))) {
+					removed.incrementAndGet();
+				}
+			} catch (IllegalArgumentException e) {
+				rejected.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Checks the schedule once every writer has finished
+	 * 
+	 * @return the first problem found, or null if every check passed
+	 */
+	private String checkFinal() {
+		List<? extends Activity> activities = scheduler.toNamedSchedule("final").getActivities();
+		long expected = added.get() - removed.get();
+		if (activities.size() != expected) {
+			return "Schedule holds " + activities.size() + " activities but " + expected
+					+ " were added and not removed";
+		}
+		String problem = check(activities);
+		if (problem != null) {
+			return "Final schedule " + problem;
+		}
+		String[][] rows = scheduler.getScheduledActivities();
+		if (rows.length != activities.size()) {
+			return "Schedule has " + rows.length + " display rows for " + activities.size() + " activities";
+		}
+		for (int i = 0; i < rows.length; i++) {
+			if (!Arrays.equals(rows[i], activities.get(i).getShortDisplayArray())) {
+				return "Display row " + i + " does not match its activity";
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks a copy of the schedule for conflicts and duplicates
+	 * 
+	 * @param activities Activities in the schedule
+	 * @return the problem found, or null if there is none
+	 */
+	private static String check(List<? extends Activity> activities) {
+		HashSet<String> courseNames = new HashSet<>();
+		HashSet<String> eventTitles = new HashSet<>();
+		for (int i = 0; i < activities.size(); i++) {
+			Activity a = activities.get(i);
+			boolean unique = a instanceof Course ? courseNames.add(((Course) a).getName())
+					: eventTitles.add(a.getTitle());
+			if (!unique) {
+				return "holds " + a.getTitle() + " twice";
+			}
+			for (int j = 0; j < i; j++) {
+				if (a.conflictsWith(activities.get(j))) {
+					return "holds conflicting " + activities.get(j).getTitle() + " and " + a.getTitle();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Records a problem, keeping the first one found
+	 * 
+	 * @param problem description of the problem
+	 */
+	private void fail(String problem) {
+		failure.compareAndSet(null, problem);
+	}
+
+}
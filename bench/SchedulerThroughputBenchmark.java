@@ -0,0 +1,158 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures how many schedule operations per second WolfScheduler sustains as
+ * threads are added, both when every thread works on one shared scheduler and
+ * when each thread has its own scheduler over one shared catalog. Each
+ * operation is, at random, a read of the schedule's display rows, an add of a
+ * catalog Course or a remove, in the proportions of an interactive session
+ * that mostly looks at its schedule.
+ * 
+ * Run with an optional catalog file and number of seconds to measure each
+ * case:
+ * 
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.bench.SchedulerThroughputBenchmark [catalog-file [seconds]]
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public final class SchedulerThroughputBenchmark {
+
+	/** Thread counts measured */
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+	/** Seconds each case is measured for when none are given */
+	private static final int DEFAULT_SECONDS = 3;
+	/** Seconds each case runs before it is measured */
+	private static final int WARMUP_SECONDS = 1;
+	/** Records generated for the catalog when no catalog file is given */
+	private static final int CATALOG_RECORDS = 20_000;
+	/** Percent of operations that read the schedule */
+	private static final int READ_PERCENT = 60;
+	/** Percent of operations that add a Course; the rest remove */
+	private static final int ADD_PERCENT = 25;
+	/** Seed of the generated catalog and of the threads */
+	private static final long SEED = 11;
+
+	/**
+	 * Not instantiated
+	 */
+	private SchedulerThroughputBenchmark() {
+		// Run through main
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param args an optional catalog file and number of seconds to measure
+	 *             each case
+	 * @throws Exception if the catalog cannot be read or the benchmark is
+	 *                   interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		CourseCatalog catalog = args.length > 0 ? CourseCatalog.load(args[0], CatalogLoadMode.STREAMING)
+				: new CourseCatalog(SyntheticCatalog.courses(CATALOG_RECORDS, SEED));
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+		System.out.println("Catalog: " + catalog.size() + " courses, "
+				+ Runtime.getRuntime().availableProcessors() + " processors, " + seconds + " s per case");
+		System.out.printf("%-8s %16s %16s%n", "threads", "shared ops/s", "per-thread ops/s");
+
+		for (int threads : THREADS) {
+			WolfScheduler shared = new WolfScheduler(catalog);
+			WolfScheduler[] sharedByAll = new WolfScheduler[threads];
+			WolfScheduler[] ownPerThread = new WolfScheduler[threads];
+			for (int t = 0; t < threads; t++) {
+				sharedByAll[t] = shared;
+				ownPerThread[t] = new WolfScheduler(catalog);
+			}
+			run(catalog.getCourses(), sharedByAll, WARMUP_SECONDS);
+			double sharedRate = run(catalog.getCourses(), sharedByAll, seconds);
+			run(catalog.getCourses(), ownPerThread, WARMUP_SECONDS);
+			double ownRate = run(catalog.getCourses(), ownPerThread, seconds);
+			System.out.printf("%-8d %16.0f %16.0f%n", threads, sharedRate, ownRate);
+		}
+	}
+
+	/**
+	 * Runs one thread per scheduler for a fixed time
+	 * 
+	 * @param courses    Courses the threads add
+	 * @param schedulers scheduler each thread works on
+	 * @param seconds    how long to run
+	 * @return the operations completed per second by all threads together
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	private static double run(List<Course> courses, WolfScheduler[] schedulers, int seconds)
+			throws InterruptedException {
+		AtomicBoolean stop = new AtomicBoolean();
+		LongAdder operations = new LongAdder();
+		CountDownLatch go = new CountDownLatch(1);
+		Thread[] threads = new Thread[schedulers.length];
+		for (int t = 0; t < threads.length; t++) {
+			WolfScheduler scheduler = schedulers[t];
+			Random random = new Random(SEED + t);
+			threads[t] = new Thread(() -> {
+				try {
+					go.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				long done = 0;
+				while (!stop.get()) {
+					operate(scheduler, courses, random);
+					done++;
+				}
+				operations.add(done);
+			});
+			threads[t].start();
+		}
+
+		long start = System.nanoTime();
+		go.countDown();
+		TimeUnit.SECONDS.sleep(seconds);
+		stop.set(true);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		return operations.sum() * 1e9 / (System.nanoTime() - start);
+	}
+
+	/**
+	 * Performs one random operation on a scheduler
+	 * 
+	 * @param scheduler scheduler to operate on
+	 * @param courses   Courses that may be added
+	 * @param random    source of the operation
+	 */
+	private static void operate(WolfScheduler scheduler, List<Course> courses, Random random) {
+		int choice = random.nextInt(100);
+		if (choice < READ_PERCENT) {
+			scheduler.getScheduledActivities();
+		} else if (choice < READ_PERCENT + ADD_PERCENT) {
+			Course c = courses.get(random.nextInt(courses.size()));
+			try {
+				scheduler.addCourseToSchedule(c.getName(), c.getSection());
+			} catch (IllegalArgumentException e) {
+				// A duplicate or conflict still counts as an operation
+			}
+		} else {
+			scheduler.removeActivityFromSchedule(random.nextInt(8));
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Generates catalogs of Course records for the benchmarks, so they can run at
+ * catalog-load scale without a real catalog file. The same seed always gives
+ * the same records.
+ * 
+ * @author Dinesh Karnati
+ */
+final class SyntheticCatalog {
+
+	/** Course name prefixes, from one to four letters */
+	private static final String[] PREFIXES = { "CSC", "MA", "E", "PY", "HESF", "ST", "ECE", "BIO" };
+	/** Meeting days a timed course may have */
+	private static final String[] DAYS = { "MW", "TH", "MWF", "F", "MTWHF", "WF", "M", "H" };
+	/** Records that fail validation in one field each */
+	private static final String[] INVALID = { "CSC2160,Title,001,3,inst1,MW,1330,1445",
+			"C1 216,Title,001,3,inst1,MW,1330,1445", "CSCXY 216,Title,001,3,inst1,MW,1330,1445",
+			"CSC 21,Title,001,3,inst1,MW,1330,1445", "CSC 216,,001,3,inst1,MW,1330,1445",
+			"CSC 216,Title,01,3,inst1,MW,1330,1445", "CSC 216,Title,001,7,inst1,MW,1330,1445",
+			"CSC 216,Title,001,3,,MW,1330,1445", "CSC 216,Title,001,3,inst1,MX,1330,1445",
+			"CSC 216,Title,001,3,inst1,MM,1330,1445", "CSC 216,Title,001,3,inst1,AM,0,0",
+			"CSC 216,Title,001,3,inst1,A,1330,1445", "CSC 216,Title,001,3,inst1,MW,1360,1445",
+			"CSC 216,Title,001,3,inst1,MW,1445,1330", "CSC 216,Title,001,3,inst1,MW,2400,2410" };
+	/** Percent of arranged records among the valid ones */
+	private static final int ARRANGED_PERCENT = 5;
+	/** Earliest start of a timed course, in minutes since midnight */
+	private static final int FIRST_START = 8 * 60;
+	/** Number of quarter hours a timed course may start in after the first */
+	private static final int START_SLOTS = 44;
+	/** Shortest meeting, in minutes */
+	private static final int MIN_DURATION = 50;
+	/** Number of five minute steps a meeting may last beyond the shortest */
+	private static final int DURATION_STEPS = 25;
+
+	/**
+	 * Not instantiated
+	 */
+	private SyntheticCatalog() {
+		// Static helpers only
+	}
+
+	/**
+	 * Generates Course records in the catalog file format
+	 * 
+	 * @param count          number of records
+	 * @param invalidPercent percent of the records that are not valid Courses
+	 * @param seed           seed of the random records
+	 * @return the records, one per line without line separators
+	 */
+	static List<String> records(int count, int invalidPercent, long seed) {
+		Random random = new Random(seed);
+		ArrayList<String> records = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (random.nextInt(100) < invalidPercent) {
+				records.add(INVALID[random.nextInt(INVALID.length)]);
+				continue;
+			}
+			String name = PREFIXES[random.nextInt(PREFIXES.length)] + " " + (100 + random.nextInt(700));
+			String section = "00" + (1 + random.nextInt(9));
+			int credits = 1 + random.nextInt(5);
+			String head = name + ",Title " + random.nextInt(1000) + "," + section + "," + credits + ",inst"
+					+ random.nextInt(200) + ",";
+			if (random.nextInt(100) < ARRANGED_PERCENT) {
+				records.add(head + "A");
+			} else {
+				int start = FIRST_START + random.nextInt(START_SLOTS) * 15;
+				int end = start + MIN_DURATION + random.nextInt(DURATION_STEPS) * 5;
+				records.add(head + DAYS[random.nextInt(DAYS.length)] + "," + Activity.toMilitaryTime(start) + ","
+						+ Activity.toMilitaryTime(end));
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Generates the valid Courses of a catalog, keeping the first section of
+	 * each name and section as the catalog loaders do
+	 * 
+	 * @param count number of records to generate
+	 * @param seed  seed of the random records
+	 * @return the Courses
+	 */
+	static List<Course> courses(int count, long seed) {
+		ArrayList<Course> courses = new ArrayList<>(count);
+		HashSet<String> seen = new HashSet<>();
+		for (String record : records(count, 0, seed)) {
+			String[] f = record.split(",");
+			if (seen.add(f[0] + "," + f[2])) {
+				int credits = Integer.parseInt(f[3]);
+				courses.add(f.length == 6 ? new Course(f[0], f[1], f[2], credits, f[4], f[5])
+						: new Course(f[0], f[1], f[2], credits, f[4], f[5], Integer.parseInt(f[6]),
+								Integer.parseInt(f[7])));
+			}
+		}
+		return courses;
+	}
+
+	/**
+	 * Writes generated records to a temporary catalog file that is deleted when
+	 * the JVM exits
+	 * 
+	 * @param count          number of records
+	 * @param invalidPercent percent of the records that are not valid Courses
+	 * @param seed           seed of the random records
+	 * @return the catalog file
+	 * @throws IOException if the file cannot be written
+	 */
+	static File writeFile(int count, int invalidPercent, long seed) throws IOException {
+		File file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset())) {
+			for (String record : records(count, invalidPercent, seed)) {
+				out.write(record);
+				out.newLine();
+			}
+		}
+		return file;
+	}
+
+}
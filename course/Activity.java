@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Deals with the creation of Activity objects and the different applications
  * and uses of them
@@ -8,6 +10,29 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  */
 public abstract class Activity implements Conflict {
 
+	/** Day mask bit for Monday */
+	public static final int MONDAY = 1;
+	/** Day mask bit for Tuesday */
+	public static final int TUESDAY = 1 << 1;
+	/** Day mask bit for Wednesday */
+	public static final int WEDNESDAY = 1 << 2;
+	/** Day mask bit for Thursday */
+	public static final int THURSDAY = 1 << 3;
+	/** Day mask bit for Friday */
+	public static final int FRIDAY = 1 << 4;
+	/** Day mask bit for Saturday */
+	public static final int SATURDAY = 1 << 5;
+	/** Day mask bit for Sunday */
+	public static final int SUNDAY = 1 << 6;
+	/** Day mask bit for arranged meetings */
+	public static final int ARRANGED = 1 << 7;
+	/** Minutes in an hour, used to convert military time to minutes of the day */
+	public static final int MINUTES_PER_HOUR = 60;
+	/** Most distinct meeting slots whose meeting strings are shared */
+	private static final int MAX_SHARED_MEETING_STRINGS = 1 << 16;
+	/** Meeting strings shared between activities that meet in the same slot */
+	private static final ConcurrentHashMap<MeetingSlot, String> MEETING_STRINGS = new ConcurrentHashMap<>();
+
 	/** Activity's title. */
 	private String title;
 	/** Activity's meeting days */
@@ -16,6 +41,16 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Activity's ending time */
 	private int endTime;
+	/** Activity's meeting days as a mask of the day bits */
+	private int dayMask;
+	/** Activity's starting time in minutes since midnight */
+	private int startMinute;
+	/** Activity's ending time in minutes since midnight */
+	private int endMinute;
+	/** Activity's meeting string, or null until it is first asked for */
+	private String meetingString;
+	/** Whether the activity is shared, such as through a catalog, and can no longer be changed */
+	private boolean readOnly;
 
 	/**
 	 * Checks whether there are any conflicts between two given activities Conflicts
@@ -29,17 +64,53 @@ public abstract class Activity implements Conflict {
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
 
-		if ("A".equals(possibleConflictingActivity.getMeetingDays()) && "A".equals(this.getMeetingDays())) {
-			return;
+		if (overlaps(possibleConflictingActivity)) {
+			throw new ConflictException("Schedule conflict.");
 		}
+	}
 
-		for (int i = 0; i < this.getMeetingDays().length(); i++) {
-			if (possibleConflictingActivity.getMeetingDays().indexOf(this.getMeetingDays().substring(i, i + 1)) != -1
-					&& this.getStartTime() <= possibleConflictingActivity.getEndTime()
-					&& this.getEndTime() >= possibleConflictingActivity.getStartTime()) {
-				throw new ConflictException("Schedule conflict.");
-			}
+	/**
+	 * Checks whether there is a conflict with the given activity, the same way
+	 * checkConflict does, but returns the answer instead of throwing
+	 * 
+	 * @param possibleConflictingActivity activity that could have a conflict with
+	 *                                    this activity
+	 * @return true if there is a conflict
+	 */
+	@Override
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		return overlaps(possibleConflictingActivity);
+	}
+
+	/**
+	 * Checks whether there is a conflict with the given activity, the same way
+	 * checkConflict does, and describes the days and times the two overlap
+	 * 
+	 * @param possibleConflictingActivity activity that could have a conflict with
+	 *                                    this activity
+	 * @return the conflict, or null if there is none
+	 */
+	@Override
+	public ConflictResult findConflict(Activity possibleConflictingActivity) {
+		if (!overlaps(possibleConflictingActivity)) {
+			return null;
 		}
+		Activity other = possibleConflictingActivity;
+		return new ConflictResult(other, this.dayMask & other.dayMask & ~ARRANGED,
+				Math.max(this.startMinute, other.startMinute), Math.min(this.endMinute, other.endMinute));
+	}
+
+	/**
+	 * Checks whether this activity and the given activity share a meeting day and
+	 * have overlapping times. Two arranged activities never overlap.
+	 * 
+	 * @param other activity to compare against
+	 * @return true if the two activities overlap
+	 */
+	private boolean overlaps(Activity other) {
+		int sharedDays = this.dayMask & other.dayMask;
+		return sharedDays != 0 && sharedDays != ARRANGED && this.startMinute <= other.endMinute
+				&& this.endMinute >= other.startMinute;
 	}
 
 	/**
@@ -55,6 +126,29 @@ public abstract class Activity implements Conflict {
 		setMeetingDaysAndTime(meetingDays, startTime, endTime);
 	}
 
+	/**
+	 * Builds an activity with no fields set, for a subclass that restores an
+	 * activity saved earlier. The subclass must call restoreValidated before the
+	 * activity is used.
+	 */
+	protected Activity() {
+		// Fields are set by restoreValidated
+	}
+
+	/**
+	 * Sets the activity's fields from values that have already been validated,
+	 * such as those of an activity saved earlier, without validating them again
+	 * 
+	 * @param title       title of the activity
+	 * @param meetingDays meeting days of the activity
+	 * @param startTime   start time of the activity
+	 * @param endTime     end time of the activity
+	 */
+	protected final void restoreValidated(String title, String meetingDays, int startTime, int endTime) {
+		this.title = title;
+		assignMeetingDaysAndTime(meetingDays, startTime, endTime);
+	}
+
 	/**
 	 * Gets the Activity's title
 	 * 
@@ -70,15 +164,45 @@ public abstract class Activity implements Conflict {
 	 * @param title the title to set
 	 * @throws IllegalArgumentException if the given title is invalid i.e if the
 	 *                                  title is null or is empty
-	 * 
+	 * @throws IllegalStateException    if the activity is read only
 	 */
 	public void setTitle(String title) {
+		checkWritable();
 		if (title == null || title.length() == 0) {
 			throw new IllegalArgumentException("Invalid title.");
 		}
 		this.title = title;
 	}
 
+	/**
+	 * Makes the activity read only, so that every setter throws from then on.
+	 * An activity shared between schedulers, such as a Course held by a catalog,
+	 * is made read only because the catalog's indexes are built from its fields.
+	 */
+	public void makeReadOnly() {
+		this.readOnly = true;
+	}
+
+	/**
+	 * Checks whether the activity is read only
+	 * 
+	 * @return true if the activity can no longer be changed
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Checks that the activity can still be changed
+	 * 
+	 * @throws IllegalStateException if the activity is read only
+	 */
+	protected final void checkWritable() {
+		if (readOnly) {
+			throw new IllegalStateException("Read only activity.");
+		}
+	}
+
 	/**
 	 * Gets Activity's Meeting Days
 	 * 
@@ -106,6 +230,99 @@ public abstract class Activity implements Conflict {
 		return endTime;
 	}
 
+	/**
+	 * Gets Activity's Meeting Days as a mask of the day bits, e.g. MONDAY |
+	 * WEDNESDAY for "MW"
+	 * 
+	 * @return the day mask
+	 */
+	public int getDayMask() {
+		return dayMask;
+	}
+
+	/**
+	 * Gets Activity's Start Time in minutes since midnight
+	 * 
+	 * @return the start minute
+	 */
+	public int getStartMinute() {
+		return startMinute;
+	}
+
+	/**
+	 * Gets Activity's End Time in minutes since midnight
+	 * 
+	 * @return the end minute
+	 */
+	public int getEndMinute() {
+		return endMinute;
+	}
+
+	/**
+	 * Converts a military time to minutes since midnight. The time is not
+	 * checked, so it must be a valid time of day.
+	 * 
+	 * @param time military time, e.g. 1330
+	 * @return the minutes since midnight
+	 */
+	public static int toMinutes(int time) {
+		return time / 100 * MINUTES_PER_HOUR + time % 100;
+	}
+
+	/**
+	 * Converts minutes since midnight to a military time
+	 * 
+	 * @param minutes minutes since midnight
+	 * @return the military time, e.g. 1330
+	 */
+	public static int toMilitaryTime(int minutes) {
+		return minutes / MINUTES_PER_HOUR * 100 + minutes % MINUTES_PER_HOUR;
+	}
+
+	/**
+	 * Converts meeting days to a mask of the day bits. Characters that are not
+	 * meeting days contribute nothing to the mask.
+	 * 
+	 * @param meetingDays meeting days to convert
+	 * @return the day mask for the meeting days
+	 */
+	public static int toDayMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			mask |= dayBit(meetingDays.charAt(i));
+		}
+		return mask;
+	}
+
+	/**
+	 * Gets the day mask bit for a single meeting day character
+	 * 
+	 * @param day meeting day character
+	 * @return the day's bit, or 0 if the character is not a meeting day
+	 */
+	public static int dayBit(char day) {
+		switch (day) {
+		case 'M':
+			return MONDAY;
+		case 'T':
+			return TUESDAY;
+		case 'W':
+			return WEDNESDAY;
+		case 'H':
+			return THURSDAY;
+		case 'F':
+			return FRIDAY;
+		case 'S':
+			return SATURDAY;
+		case 'U':
+			return SUNDAY;
+		case 'A':
+			return ARRANGED;
+		default:
+			return 0;
+		}
+	}
+
 	/**
 	 * Sets Activity's Meeting Days, Start Time, and End Time
 	 * 
@@ -117,8 +334,10 @@ public abstract class Activity implements Conflict {
 	 *                                  empty or if the time given does not exist on
 	 *                                  the 24 hour clock or if the start time is
 	 *                                  after the end time
+	 * @throws IllegalStateException    if the activity is read only
 	 */
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+		checkWritable();
 		if (meetingDays == null || meetingDays.length() == 0) {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
@@ -147,9 +366,25 @@ public abstract class Activity implements Conflict {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
 
+		assignMeetingDaysAndTime(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Stores valid meeting days and times along with the day mask and minutes
+	 * derived from them
+	 * 
+	 * @param meetingDays the meeting days to set
+	 * @param startTime   the start time to set
+	 * @param endTime     the end time to set
+	 */
+	private void assignMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 		this.meetingDays = meetingDays;
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.dayMask = toDayMask(meetingDays);
+		this.startMinute = toMinutes(startTime);
+		this.endMinute = toMinutes(endTime);
+		this.meetingString = null;
 	}
 
 	/**
@@ -159,71 +394,95 @@ public abstract class Activity implements Conflict {
 	 * @return meeting days and time slot string
 	 */
 	String getTimeString() {
+		return timeString(this.meetingDays, this.startTime, this.endTime);
+	}
 
-		int startHours = this.startTime / 100;
-		int endHours = this.endTime / 100;
-		boolean isStartPM = false;
-		boolean isEndPM = false;
-		String startMinutes = String.valueOf(this.startTime % 100).toString();
-		String endMinutes = String.valueOf(this.endTime % 100).toString();
-
-		if (startHours >= 12) {
-			isStartPM = true;
-		}
-
-		if (endHours >= 12) {
-			isEndPM = true;
-		}
-
-		if (startHours > 12) {
-			startHours = startHours - 12;
-		}
-
-		if (endHours > 12) {
-			endHours = endHours - 12;
-		}
-
-		if (startHours == 0) {
-			startHours = 12;
-		}
+	/**
+	 * Converts military time to standard time and returns meeting days as well as
+	 * time slot
+	 * 
+	 * @param meetingDays meeting days of the slot
+	 * @param startTime   start time of the slot
+	 * @param endTime     end time of the slot
+	 * @return meeting days and time slot string
+	 */
+	static String timeString(String meetingDays, int startTime, int endTime) {
+		boolean isStartPM = startTime / 100 >= 12;
+		boolean isEndPM = endTime / 100 >= 12;
+
+		StringBuilder sb = new StringBuilder(meetingDays.length() + 16);
+		sb.append(meetingDays).append(' ');
+		// A slot that starts in the morning and ends in the afternoon reads AM-PM
+		appendTime(sb, startTime, isStartPM && isEndPM);
+		sb.append('-');
+		appendTime(sb, endTime, isStartPM || isEndPM);
+		return sb.toString();
+	}
 
-		if (endHours == 0) {
-			endHours = 12;
-		}
+	/**
+	 * Appends a military time in standard time, e.g. 1:05PM for 1305
+	 * 
+	 * @param sb   builder to append to
+	 * @param time military time to append
+	 * @param pm   whether to label the time PM rather than AM
+	 */
+	private static void appendTime(StringBuilder sb, int time, boolean pm) {
+		int hours = time / 100;
+		int minutes = time % 100;
 
-		if (Integer.valueOf(startMinutes) < 10) {
-			startMinutes = "0" + startMinutes;
+		if (hours > 12) {
+			hours = hours - 12;
 		}
 
-		if (Integer.valueOf(endMinutes) < 10) {
-			endMinutes = "0" + endMinutes;
+		if (hours == 0) {
+			hours = 12;
 		}
 
-		if (isStartPM && isEndPM) {
-			return this.meetingDays + " " + startHours + ":" + startMinutes + "PM-" + endHours + ":" + endMinutes
-					+ "PM";
-		} else if (!isStartPM && !isEndPM) {
-			return this.meetingDays + " " + startHours + ":" + startMinutes + "AM-" + endHours + ":" + endMinutes
-					+ "AM";
-		} else {
-			return this.meetingDays + " " + startHours + ":" + startMinutes + "AM-" + endHours + ":" + endMinutes
-					+ "PM";
+		sb.append(hours).append(':');
+		if (minutes < 10) {
+			sb.append('0');
 		}
-
+		sb.append(minutes).append(pm ? "PM" : "AM");
 	}
 
 	/**
-	 * Gets meeting days and time slot
+	 * Gets meeting days and time slot. The string is built once per distinct
+	 * meeting slot and shared by every activity that meets in that slot.
 	 * 
 	 * @return meeting days and time slot string
 	 */
 	public String getMeetingString() {
+		String s = this.meetingString;
+		if (s == null) {
+			s = meetingString(this.meetingDays, this.startTime, this.endTime);
+			this.meetingString = s;
+		}
+		return s;
+	}
 
-		if ("A".equals(this.meetingDays)) {
-			return "Arranged";
-		} else {
-			return this.getTimeString();
+	/**
+	 * Gets the meeting string of a meeting slot, as getMeetingString would for an
+	 * activity that meets in it. The string is shared with every activity that
+	 * meets in the same slot.
+	 * 
+	 * @param meetingDays meeting days of the slot
+	 * @param startTime   start time of the slot
+	 * @param endTime     end time of the slot
+	 * @return meeting days and time slot string
+	 */
+	public static String meetingString(String meetingDays, int startTime, int endTime) {
+		MeetingSlot slot = new MeetingSlot(meetingDays, startTime, endTime);
+		String s = MEETING_STRINGS.get(slot);
+		if (s == null) {
+			s = "A".equals(meetingDays) ? "Arranged" : timeString(meetingDays, startTime, endTime);
+			if (MEETING_STRINGS.size() < MAX_SHARED_MEETING_STRINGS) {
+				String shared = MEETING_STRINGS.putIfAbsent(slot, s);
+				if (shared != null) {
+					s = shared;
+				}
+			}
 		}
+		return s;
 	}
 
 	/**
@@ -296,4 +555,45 @@ public abstract class Activity implements Conflict {
 	 */
 	public abstract boolean isDuplicate(Activity activity);
 
-}
\ No newline at end of file
+	/**
+	 * Meeting days and times that identify a shared meeting string
+	 */
+	private static final class MeetingSlot {
+
+		/** Meeting days of the slot */
+		private final String meetingDays;
+		/** Start time of the slot */
+		private final int startTime;
+		/** End time of the slot */
+		private final int endTime;
+
+		/**
+		 * Constructs a meeting slot
+		 * 
+		 * @param meetingDays meeting days of the slot
+		 * @param startTime   start time of the slot
+		 * @param endTime     end time of the slot
+		 */
+		MeetingSlot(String meetingDays, int startTime, int endTime) {
+			this.meetingDays = meetingDays;
+			this.startTime = startTime;
+			this.endTime = endTime;
+		}
+
+		@Override
+		public int hashCode() {
+			return (meetingDays.hashCode() * 31 + startTime) * 31 + endTime;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MeetingSlot)) {
+				return false;
+			}
+			MeetingSlot other = (MeetingSlot) obj;
+			return startTime == other.startTime && endTime == other.endTime && meetingDays.equals(other.meetingDays);
+		}
+
+	}
+
+}
@@ -16,4 +16,23 @@ public interface Conflict {
 	 */
 	void checkConflict(Activity possibleConflictingActivity) throws ConflictException;
 
+	/**
+	 * Checks for conflict with a given activity without throwing, for callers
+	 * that check many activities and expect most of them to conflict
+	 * 
+	 * @param possibleConflictingActivity The activity to check for conflicts with
+	 * @return true if the activities conflict
+	 */
+	boolean conflictsWith(Activity possibleConflictingActivity);
+
+	/**
+	 * Checks for conflict with a given activity and describes where the two
+	 * overlap
+	 * 
+	 * @param possibleConflictingActivity The activity to check for conflicts with
+	 * @return the days and times the activities overlap, or null if they do not
+	 *         conflict
+	 */
+	ConflictResult findConflict(Activity possibleConflictingActivity);
+
 }
@@ -0,0 +1,113 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+/**
+ * Describes a conflict found between two activities: the activity that was
+ * conflicted with, and the days and times on which the two overlap
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ConflictResult {
+
+	/** Meeting day letters in day bit order */
+	private static final String DAY_LETTERS = "MTWHFSU";
+
+	/** Activity that was conflicted with */
+	private final Activity activity;
+	/** Days both activities meet on, as a day mask */
+	private final int dayMask;
+	/** Start of the overlap in minutes since midnight */
+	private final int startMinute;
+	/** End of the overlap in minutes since midnight */
+	private final int endMinute;
+
+	/**
+	 * Constructs a description of a conflict
+	 * 
+	 * @param activity    activity that was conflicted with
+	 * @param dayMask     days both activities meet on
+	 * @param startMinute start of the overlap in minutes since midnight
+	 * @param endMinute   end of the overlap in minutes since midnight
+	 */
+	ConflictResult(Activity activity, int dayMask, int startMinute, int endMinute) {
+		this.activity = activity;
+		this.dayMask = dayMask;
+		this.startMinute = startMinute;
+		this.endMinute = endMinute;
+	}
+
+	/**
+	 * Gets the activity that was conflicted with
+	 * 
+	 * @return the conflicting activity
+	 */
+	public Activity getActivity() {
+		return activity;
+	}
+
+	/**
+	 * Gets the days both activities meet on, as a mask of the Activity day bits
+	 * 
+	 * @return the overlapping day mask
+	 */
+	public int getDayMask() {
+		return dayMask;
+	}
+
+	/**
+	 * Gets the days both activities meet on, e.g. "MW"
+	 * 
+	 * @return the overlapping days
+	 */
+	public String getDays() {
+		StringBuilder days = new StringBuilder(DAY_LETTERS.length());
+		for (int d = 0; d < DAY_LETTERS.length(); d++) {
+			if ((dayMask & (1 << d)) != 0) {
+				days.append(DAY_LETTERS.charAt(d));
+			}
+		}
+		return days.toString();
+	}
+
+	/**
+	 * Gets the time the overlap starts
+	 * 
+	 * @return the start of the overlap in military time
+	 */
+	public int getStartTime() {
+		return Activity.toMilitaryTime(startMinute);
+	}
+
+	/**
+	 * Gets the time the overlap ends
+	 * 
+	 * @return the end of the overlap in military time
+	 */
+	public int getEndTime() {
+		return Activity.toMilitaryTime(endMinute);
+	}
+
+	/**
+	 * Gets the overlapping days and times in the format of an Activity's meeting
+	 * string, e.g. "MW 1:30PM-2:45PM". Overlaps are rarely repeated, so the
+	 * string is built each time rather than shared through the Activity cache.
+	 * 
+	 * @return the overlapping days and times
+	 */
+	public String getMeetingString() {
+		return Activity.timeString(getDays(), getStartTime(), getEndTime());
+	}
+
+	/**
+	 * Returns a description of the conflict
+	 * 
+	 * @return the conflicting activity's title and the overlapping days and times
+	 */
+	@Override
+	public String toString() {
+		return "Conflicts with " + activity.getTitle() + " on " + getMeetingString();
+	}
+
+}
@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.Locale;
+
 /**
  * Course class to create a Course object that has the fields name, title,
  * section, credits, instructor ID, meeting days, start time, and end time
@@ -16,6 +18,14 @@ public class Course extends Activity {
 	private static final int MAX_CREDITS = 5;
 	/** Minimum credits for a course */
 	private static final int MIN_CREDITS = 1;
+	/** Capital I with a dot above, which only Turkish and Azeri lowercase to 'i' */
+	private static final char CAPITAL_DOTTED_I = '\u0130';
+	/** Day mask bits a course may meet on */
+	private static final int COURSE_DAYS = MONDAY | TUESDAY | WEDNESDAY | THURSDAY | FRIDAY | ARRANGED;
+	/** Number of digits in a course name */
+	private static final int NAME_DIGITS = 3;
+	/** Most letters in a course name */
+	private static final int MAX_NAME_LETTERS = 4;
 	/** Course's name. */
 	private String name;
 	/** Course's section. */
@@ -26,7 +36,9 @@ public class Course extends Activity {
 	private String instructorId;
 
 	/**
-	 * Constructs a Course object with values for all fields.
+	 * Constructs a Course object with values for all fields. The strings are kept
+	 * as given; catalog loaders share the values of a Course through a StringPool
+	 * once the Course has been validated.
 	 * 
 	 * @param name         name of Course
 	 * @param title        title of Course
@@ -61,6 +73,39 @@ public class Course extends Activity {
 		this(name, title, section, credits, instructorId, meetingDays, 0, 0);
 	}
 
+	/**
+	 * Constructs a Course with no fields set, for fromValidated to fill in
+	 */
+	private Course() {
+		super();
+	}
+
+	/**
+	 * Recreates a Course from the fields of a Course that was valid when it was
+	 * saved, such as one read back from a checksummed catalog snapshot. The fields
+	 * are not validated again, so they must come from a valid Course.
+	 * 
+	 * @param name         name of Course
+	 * @param title        title of Course
+	 * @param section      section of Course
+	 * @param credits      credit hours for Course
+	 * @param instructorId instructor's unity id
+	 * @param meetingDays  meeting days for Course as series of chars
+	 * @param startTime    start time for Course
+	 * @param endTime      end time for Course
+	 * @return the recreated Course
+	 */
+	public static Course fromValidated(String name, String title, String section, int credits,
+			String instructorId, String meetingDays, int startTime, int endTime) {
+		Course c = new Course();
+		c.restoreValidated(title, meetingDays, startTime, endTime);
+		c.name = name;
+		c.section = section;
+		c.credits = credits;
+		c.instructorId = instructorId;
+		return c;
+	}
+
 	/**
 	 * Gets the Course's name
 	 * 
@@ -96,40 +141,63 @@ public class Course extends Activity {
 		// Check for pattern of L[LLL] NNN
 
 		int letterCounter = 0;
+		int i = 0;
+		while (i < name.length() && name.charAt(i) != ' ') {
+			if (!isNameLetter(name.charAt(i))) {
+				throw new IllegalArgumentException("Invalid course name.");
+			}
+			letterCounter++;
+			i++;
+		}
+
 		int digitsCounter = 0;
-		boolean hasSpace = false;
-		String letters = "abcdefghijklmnopqrstuvwxyz";
-		String digits = "0123456789";
-
-		for (int i = 0; i < name.length(); i++) {
-			if (!hasSpace) {
-				if (letters.indexOf(name.substring(i, i + 1).toLowerCase()) >= 0) {
-					letterCounter++;
-				} else if (name.substring(i, i + 1).equals(" ")) {
-					hasSpace = true;
-				} else {
-					throw new IllegalArgumentException("Invalid course name.");
-				}
-			} else if (hasSpace) {
-				if (digits.indexOf(name.substring(i, i + 1).toLowerCase()) >= 0) {
-					digitsCounter++;
-				} else {
-					throw new IllegalArgumentException("Invalid course name.");
-				}
+		for (i++; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Invalid course name.");
 			}
+			digitsCounter++;
 		}
 
-		if (letterCounter < 1 || letterCounter > 4) {
+		if (letterCounter < 1 || letterCounter > MAX_NAME_LETTERS) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
-		if (digitsCounter != 3) {
+		if (digitsCounter != NAME_DIGITS) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
 		this.name = name;
 	}
 
+	/**
+	 * Checks whether a character counts as a letter in a course name, that is
+	 * whether it lowercases to a letter from a to z in the default locale. ASCII
+	 * letters other than 'I' are checked directly. Turkish and Azeri lowercase 'I'
+	 * to a dotless i and the dotted capital I (U+0130) to 'i', while every other
+	 * locale does the reverse, so those two depend on the default locale's
+	 * language. Any other character counts if its lowercase form is a to z (e.g.
+	 * the Kelvin sign).
+	 * 
+	 * @param c character to check
+	 * @return true if the character is a course name letter
+	 */
+	private static boolean isNameLetter(char c) {
+		if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' && c != 'I') {
+			return true;
+		}
+		if (c == 'I' || c == CAPITAL_DOTTED_I) {
+			String language = Locale.getDefault().getLanguage();
+			boolean dotless = "tr".equals(language) || "az".equals(language);
+			return c == 'I' ? !dotless : dotless;
+		}
+		if (c < 0x80) {
+			return false;
+		}
+		char lower = Character.toLowerCase(c);
+		return lower >= 'a' && lower <= 'z';
+	}
+
 	/**
 	 * Gets the course's Section
 	 * 
@@ -146,8 +214,10 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if the given section is invalid i.e if the
 	 *                                  section number is null or less than 3 or if
 	 *                                  it doesn't contain all digits
+	 * @throws IllegalStateException    if the Course is read only
 	 */
 	public void setSection(String section) {
+		checkWritable();
 		if (section == null || section.length() != 3) {
 			throw new IllegalArgumentException("Invalid section.");
 		}
@@ -176,8 +246,10 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if the given credits are invalid i.e if the
 	 *                                  credits are lower than the min or greater
 	 *                                  than the max a student can have
+	 * @throws IllegalStateException    if the Course is read only
 	 */
 	public void setCredits(int credits) {
+		checkWritable();
 
 		if (credits < MIN_CREDITS || credits > MAX_CREDITS) {
 			throw new IllegalArgumentException("Invalid credits.");
@@ -201,8 +273,10 @@ public class Course extends Activity {
 	 * @param instructorId the instructorId to set
 	 * @throws IllegalArgumentException if the given instructor id is invalid i.e if
 	 *                                  the Id is null or empty
+	 * @throws IllegalStateException    if the Course is read only
 	 */
 	public void setInstructorId(String instructorId) {
+		checkWritable();
 
 		if (instructorId == null || instructorId.length() == 0) {
 			throw new IllegalArgumentException("Invalid instructor id.");
@@ -313,42 +387,18 @@ public class Course extends Activity {
 	@Override
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 
-		if ("A".equals(meetingDays) && (startTime != 0 || endTime != 0)) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-
-		}
-
-		int arrangedCount = 0;
-		int mondayCount = 0;
-		int tuesdayCount = 0;
-		int wednesdayCount = 0;
-		int thursdayCount = 0;
-		int fridayCount = 0;
-
-		if (meetingDays.contains("A") && meetingDays.length() > 1) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-		} else {
-			for (int i = 0; i < meetingDays.length(); i++) {
-				if (meetingDays.substring(i, i + 1).equals("M")) {
-					mondayCount++;
-				} else if (meetingDays.substring(i, i + 1).equals("T")) {
-					tuesdayCount++;
-				} else if (meetingDays.substring(i, i + 1).equals("W")) {
-					wednesdayCount++;
-				} else if (meetingDays.substring(i, i + 1).equals("H")) {
-					thursdayCount++;
-				} else if (meetingDays.substring(i, i + 1).equals("F")) {
-					fridayCount++;
-				} else if (meetingDays.substring(i, i + 1).equals("A")) {
-					arrangedCount++;
-				} else {
-					throw new IllegalArgumentException("Invalid meeting days and times.");
-				}
+		// Null meeting days fail here with a NullPointerException, as they always have
+		int length = meetingDays.length();
+		int seen = 0;
+		for (int i = 0; i < length; i++) {
+			int day = dayBit(meetingDays.charAt(i)) & COURSE_DAYS;
+			if (day == 0 || (seen & day) != 0) {
+				throw new IllegalArgumentException("Invalid meeting days and times.");
 			}
-
+			seen |= day;
 		}
-		if (mondayCount > 1 || tuesdayCount > 1 || wednesdayCount > 1 || thursdayCount > 1 || fridayCount > 1
-				|| arrangedCount > 1) {
+
+		if ((seen & ARRANGED) != 0 && (length > 1 || startTime != 0 || endTime != 0)) {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
 
@@ -12,6 +12,8 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  */
 public class Event extends Activity {
 
+	/** Day mask bits an event may meet on */
+	private static final int EVENT_DAYS = MONDAY | TUESDAY | WEDNESDAY | THURSDAY | FRIDAY | SATURDAY | SUNDAY;
 	/** The event details for an Event */
 	private String eventDetails;
 
@@ -53,37 +55,13 @@ public class Event extends Activity {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
 
-		int mondayCount = 0;
-		int tuesdayCount = 0;
-		int wednesdayCount = 0;
-		int thursdayCount = 0;
-		int fridayCount = 0;
-		int saturdayCount = 0;
-		int sundayCount = 0;
-
+		int seen = 0;
 		for (int i = 0; i < meetingDays.length(); i++) {
-			if (meetingDays.substring(i, i + 1).equals("M")) {
-				mondayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("T")) {
-				tuesdayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("W")) {
-				wednesdayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("H")) {
-				thursdayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("F")) {
-				fridayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("S")) {
-				saturdayCount++;
-			} else if (meetingDays.substring(i, i + 1).equals("U")) {
-				sundayCount++;
-			} else {
+			int day = dayBit(meetingDays.charAt(i)) & EVENT_DAYS;
+			if (day == 0 || (seen & day) != 0) {
 				throw new IllegalArgumentException("Invalid meeting days and times.");
 			}
-		}
-
-		if (mondayCount > 1 || tuesdayCount > 1 || wednesdayCount > 1 || thursdayCount > 1 || fridayCount > 1
-				|| saturdayCount > 1 || sundayCount > 1) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			seen |= day;
 		}
 
 		super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
@@ -94,8 +72,10 @@ public class Event extends Activity {
 	 * 
 	 * @param eventDetails the eventDetails to set
 	 * @throws IllegalArgumentException if the given event details are invalid i.e if the event details are null
+	 * @throws IllegalStateException if the event is read only
 	 */
 	public void setEventDetails(String eventDetails) {
+		checkWritable();
 		if (eventDetails == null) {
 			throw new IllegalArgumentException("Invalid event details.");
 		}
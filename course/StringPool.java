@@ -0,0 +1,318 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares one copy of each distinct string among the Courses of a catalog.
+ * Catalogs repeat the same instructor ids, titles, sections and meeting days
+ * across thousands of Courses, so keeping one String per value instead of one
+ * per Course cuts the heap a catalog needs. Each load of a catalog uses a pool
+ * of its own, so the pool and any strings only it holds are freed along with
+ * the catalog.
+ * 
+ * Strings can be interned straight from a character buffer, so a value that
+ * is already pooled does not need a String created for it at all. The pool
+ * stops growing once it holds its maximum number of strings; values after that
+ * are simply not shared.
+ * 
+ * The strings are kept in a chained hash table of their own, hashed like
+ * String.hashCode, so a String and a range of characters find the same bucket
+ * and are compared character by character. Lookups do not lock; adding a
+ * string locks the pool.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class StringPool {
+
+	/** Bytes in a String object's header and fields */
+	private static final int STRING_BYTES = 24;
+	/** Bytes in a byte array's header */
+	private static final int ARRAY_HEADER_BYTES = 16;
+	/** Alignment of objects on the heap in bytes */
+	private static final int OBJECT_ALIGNMENT = 8;
+	/** Number of buckets in a new pool's table */
+	private static final int INITIAL_BUCKETS = 1 << 10;
+
+	/** Buckets of pooled strings, replaced by a table twice the size as it fills */
+	private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(INITIAL_BUCKETS);
+	/** Number of strings in the pool */
+	private volatile int size;
+	/** Most strings the pool holds */
+	private final int maxSize;
+	/** Number of lookups that found a pooled copy */
+	private final LongAdder hits = new LongAdder();
+	/** Estimated bytes of the copies that pooled strings stood in for */
+	private final LongAdder bytesSaved = new LongAdder();
+
+	/**
+	 * Constructs an empty pool
+	 * 
+	 * @param maxSize most strings the pool holds
+	 * @throws IllegalArgumentException if the maximum size is negative
+	 */
+	public StringPool(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Invalid pool size.");
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets the pooled copy of a string, adding the string to the pool if it has
+	 * no copy yet
+	 * 
+	 * @param s string to look up, may be null
+	 * @return the pooled copy, the string itself if it was added or the pool is
+	 *         full, or null if the string is null
+	 */
+	public String intern(String s) {
+		if (s == null) {
+			return null;
+		}
+		int hash = s.hashCode();
+		String pooled = find(table, hash, s);
+		if (pooled == null) {
+			return size >= maxSize ? s : add(hash, s, null, 0, 0);
+		}
+		if (pooled != s) {
+			hit(pooled);
+		}
+		return pooled;
+	}
+
+	/**
+	 * Gets the pooled copy of the characters in buf between start and end,
+	 * adding a new String for them if the pool has no copy yet
+	 * 
+	 * @param buf   buffer holding the characters
+	 * @param start offset of the first character
+	 * @param end   offset just past the last character
+	 * @return the pooled copy, or a new String if the pool is full
+	 */
+	public String intern(char[] buf, int start, int end) {
+		int hash = hash(buf, start, end);
+		String pooled = find(table, hash, buf, start, end);
+		if (pooled != null) {
+			hit(pooled);
+			return pooled;
+		}
+		return size >= maxSize ? new String(buf, start, end - start) : add(hash, null, buf, start, end);
+	}
+
+	/**
+	 * Adds a value to the pool unless the pool is full. The value is given either
+	 * as a String or as a range of characters, from which a String is only made
+	 * if no other thread pooled a copy first.
+	 * 
+	 * @param hash  hash of the value
+	 * @param s     the value, or null to take it from buf
+	 * @param buf   buffer holding the value's characters if s is null
+	 * @param start offset of the first character
+	 * @param end   offset just past the last character
+	 * @return the pooled copy, or the value itself if it was added or the pool
+	 *         is full
+	 */
+	private synchronized String add(int hash, String s, char[] buf, int start, int end) {
+		AtomicReferenceArray<Entry> buckets = table;
+		String pooled = s != null ? find(buckets, hash, s) : find(buckets, hash, buf, start, end);
+		if (pooled != null) {
+			hit(pooled);
+			return pooled;
+		}
+		String value = s != null ? s : new String(buf, start, end - start);
+		if (size >= maxSize) {
+			return value;
+		}
+		if (size >= buckets.length() - (buckets.length() >> 2)) {
+			buckets = resize(buckets);
+		}
+		int i = hash & (buckets.length() - 1);
+		buckets.set(i, new Entry(hash, value, buckets.get(i)));
+		size++;
+		return value;
+	}
+
+	/**
+	 * Moves every string into a table twice the size and makes it the pool's
+	 * table. Entries are copied rather than relinked, so lookups still walking
+	 * the old table are not disturbed.
+	 * 
+	 * @param old the current table
+	 * @return the new table
+	 */
+	private AtomicReferenceArray<Entry> resize(AtomicReferenceArray<Entry> old) {
+		AtomicReferenceArray<Entry> buckets = new AtomicReferenceArray<>(old.length() * 2);
+		for (int b = 0; b < old.length(); b++) {
+			for (Entry e = old.get(b); e != null; e = e.next) {
+				int i = e.hash & (buckets.length() - 1);
+				buckets.set(i, new Entry(e.hash, e.value, buckets.get(i)));
+			}
+		}
+		table = buckets;
+		return buckets;
+	}
+
+	/**
+	 * Finds the pooled copy of a string in a table
+	 * 
+	 * @param buckets table to search
+	 * @param hash    hash of the string
+	 * @param s       string to find
+	 * @return the pooled copy, or null if there is none
+	 */
+	private static String find(AtomicReferenceArray<Entry> buckets, int hash, String s) {
+		for (Entry e = buckets.get(hash & (buckets.length() - 1)); e != null; e = e.next) {
+			if (e.hash == hash && e.value.equals(s)) {
+				return e.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the pooled copy of a range of characters in a table
+	 * 
+	 * @param buckets table to search
+	 * @param hash    hash of the characters
+	 * @param buf     buffer holding the characters
+	 * @param start   offset of the first character
+	 * @param end     offset just past the last character
+	 * @return the pooled copy, or null if there is none
+	 */
+	private static String find(AtomicReferenceArray<Entry> buckets, int hash, char[] buf, int start, int end) {
+		for (Entry e = buckets.get(hash & (buckets.length() - 1)); e != null; e = e.next) {
+			if (e.hash == hash && matches(e.value, buf, start, end)) {
+				return e.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Hashes a range of characters the same way String.hashCode hashes a String
+	 * of those characters
+	 * 
+	 * @param buf   buffer holding the characters
+	 * @param start offset of the first character
+	 * @param end   offset just past the last character
+	 * @return the hash
+	 */
+	private static int hash(char[] buf, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + buf[i];
+		}
+		return h;
+	}
+
+	/**
+	 * Checks whether a string holds exactly the characters of a range
+	 * 
+	 * @param s     string to compare
+	 * @param buf   buffer holding the characters
+	 * @param start offset of the first character
+	 * @param end   offset just past the last character
+	 * @return true if the string and the range hold the same characters
+	 */
+	private static boolean matches(String s, char[] buf, int start, int end) {
+		if (s.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) != buf[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records that a pooled string stood in for a copy of itself
+	 * 
+	 * @param pooled the pooled string
+	 */
+	private void hit(String pooled) {
+		hits.increment();
+		bytesSaved.add(sizeOf(pooled));
+	}
+
+	/**
+	 * Estimates the heap a String takes, counting its object and its compactly
+	 * stored character array
+	 * 
+	 * @param s string to measure
+	 * @return the estimated size in bytes
+	 */
+	public static long sizeOf(String s) {
+		int bytesPerChar = 1;
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > 0xFF) {
+				bytesPerChar = 2;
+				break;
+			}
+		}
+		long array = ARRAY_HEADER_BYTES + (long) s.length() * bytesPerChar;
+		array = (array + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+		return STRING_BYTES + array;
+	}
+
+	/**
+	 * Gets the number of strings in the pool
+	 * 
+	 * @return the number of pooled strings
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of lookups that found a pooled copy, so needed no String of
+	 * their own
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the estimated bytes of heap saved by sharing pooled strings
+	 * 
+	 * @return the bytes saved
+	 */
+	public long getBytesSaved() {
+		return bytesSaved.sum();
+	}
+
+	/**
+	 * A pooled string in a bucket's chain
+	 */
+	private static final class Entry {
+
+		/** Hash of the string */
+		private final int hash;
+		/** The pooled string */
+		private final String value;
+		/** Next entry in the bucket, or null */
+		private final Entry next;
+
+		/**
+		 * Constructs an entry
+		 * 
+		 * @param hash  hash of the string
+		 * @param value the pooled string
+		 * @param next  next entry in the bucket, or null
+		 */
+		Entry(int hash, String value, Entry next) {
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+
+	}
+
+}
@@ -3,10 +3,12 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 
@@ -17,21 +19,56 @@ import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 public class ActivityRecordIO {
 
 	/**
-	 * Writes the given list of the Activities
+	 * Idle writers, so repeated exports reuse the same buffers. At most one
+	 * writer per processor is kept; a thread that finds none idle makes its own.
+	 */
+	private static final ArrayBlockingQueue<ActivityRecordWriter> WRITERS = new ArrayBlockingQueue<>(
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Writes the given list of the Activities. The file is only replaced once
+	 * every record has been written, so a failed write leaves any earlier file
+	 * in place.
 	 * 
 	 * @param fileName file to write schedule of activities to
 	 * @param activities  list of Activities to write
 	 * @throws IOException if cannot write to file
 	 */
 	public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-	
-		for (int i = 0; i < activities.size(); i++) {
-			fileWriter.println(activities.get(i).toString());
+		ActivityRecordWriter writer = borrowWriter();
+		try {
+			writer.write(fileName, activities);
+		} finally {
+			WRITERS.offer(writer);
+		}
+	}
+
+	/**
+	 * Writes the given list of the Activities to a stream, in the same format
+	 * as a schedule file. The stream is not closed.
+	 * 
+	 * @param out        stream to write schedule of activities to
+	 * @param activities list of Activities to write
+	 * @throws IOException if cannot write to the stream
+	 */
+	public static void writeActivityRecords(OutputStream out, List<? extends Activity> activities)
+			throws IOException {
+		ActivityRecordWriter writer = borrowWriter();
+		try {
+			writer.write(Channels.newChannel(out), activities);
+		} finally {
+			WRITERS.offer(writer);
 		}
-	
-		fileWriter.close();
-	
+	}
+
+	/**
+	 * Takes an idle writer, or makes a new one if none is idle
+	 * 
+	 * @return a writer for this thread to use until it gives it back
+	 */
+	private static ActivityRecordWriter borrowWriter() {
+		ActivityRecordWriter writer = WRITERS.poll();
+		return writer == null ? new ActivityRecordWriter() : writer;
 	}
 
 }
@@ -0,0 +1,189 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Writes Activity records, one per line, through a single reusable byte buffer
+ * that is handed to a file channel in large chunks. Files are written to a
+ * temporary file next to the target and renamed over it once complete, so a
+ * failed or interrupted write never leaves a partial file behind. A writer is
+ * not safe to share between threads.
+ * 
+ * @author Dinesh Karnati
+ */
+public class ActivityRecordWriter {
+
+	/** Size of the byte buffer in bytes */
+	private static final int BUFFER_SIZE = 64 << 10;
+	/** Line separator written after each record, matching PrintStream.println */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Buffer records are encoded into before being written */
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	/** Encoder for the platform's default charset, which PrintStream also uses */
+	private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	/**
+	 * Writes the given Activities to a file, replacing the file only once every
+	 * record has been written
+	 * 
+	 * @param fileName   file to write the Activities to
+	 * @param activities Activities to write
+	 * @return the number of bytes written
+	 * @throws IOException if the file cannot be written
+	 */
+	public long write(String fileName, List<? extends Activity> activities) throws IOException {
+		return replaceFile(new File(fileName).getAbsoluteFile().toPath(), temp -> {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.WRITE)) {
+				long written = write(channel, activities);
+				channel.force(false);
+				return written;
+			}
+		});
+	}
+
+	/**
+	 * Writes the contents of a file
+	 * 
+	 * @param <E> checked exception other than IOException the contents may throw
+	 */
+	interface FileContents<E extends Exception> {
+
+		/**
+		 * Writes the contents to a new file
+		 * 
+		 * @param file file to create and write
+		 * @return the number of bytes written
+		 * @throws IOException if the file cannot be written
+		 * @throws E           if writing the contents fails in another way
+		 */
+		long writeTo(Path file) throws IOException, E;
+
+	}
+
+	/**
+	 * Replaces a file with new contents. The contents are written to a temporary
+	 * file next to the target, which is then renamed over the target, atomically
+	 * where the file system allows it. If writing fails the target is left as it
+	 * was and the temporary file is removed.
+	 * 
+	 * @param <E>      checked exception other than IOException the contents may
+	 *                 throw
+	 * @param target   file to replace
+	 * @param contents writes the new contents
+	 * @return the number of bytes written
+	 * @throws IOException if the file cannot be written or replaced
+	 * @throws E           if writing the contents fails in another way
+	 */
+	static <E extends Exception> long replaceFile(Path target, FileContents<E> contents) throws IOException, E {
+		Path temp = tempFileFor(target);
+		try {
+			long written = contents.writeTo(temp);
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return written;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Picks an unused name for a temporary file next to the target. The file is
+	 * created with the same default permissions as the target would be.
+	 * 
+	 * @param target file the temporary file will replace
+	 * @return the temporary file's path
+	 */
+	private static Path tempFileFor(Path target) {
+		return target.resolveSibling(
+				target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+	}
+
+	/**
+	 * Writes the given Activities to a channel
+	 * 
+	 * @param channel    channel to write the Activities to
+	 * @param activities Activities to write
+	 * @return the number of bytes written
+	 * @throws IOException if the channel cannot be written
+	 */
+	long write(WritableByteChannel channel, List<? extends Activity> activities) throws IOException {
+		long written = 0;
+		buffer.clear();
+		encoder.reset();
+		for (int i = 0; i < activities.size(); i++) {
+			written += encode(channel, CharBuffer.wrap(activities.get(i).toString()), false);
+			written += encode(channel, CharBuffer.wrap(LINE_SEPARATOR), false);
+		}
+		written += encode(channel, CharBuffer.allocate(0), true);
+		while (encoder.flush(buffer).isOverflow()) {
+			written += drain(channel);
+		}
+		written += drain(channel);
+		return written;
+	}
+
+	/**
+	 * Encodes characters into the buffer, writing the buffer to the channel each
+	 * time it fills
+	 * 
+	 * @param channel    channel to write full buffers to
+	 * @param chars      characters to encode
+	 * @param endOfInput whether these are the last characters to encode
+	 * @return the number of bytes written to the channel
+	 * @throws IOException if the channel cannot be written
+	 */
+	private long encode(WritableByteChannel channel, CharBuffer chars, boolean endOfInput) throws IOException {
+		long written = 0;
+		CoderResult result = encoder.encode(chars, buffer, endOfInput);
+		while (result.isOverflow()) {
+			written += drain(channel);
+			result = encoder.encode(chars, buffer, endOfInput);
+		}
+		return written;
+	}
+
+	/**
+	 * Writes everything in the buffer to the channel and empties the buffer
+	 * 
+	 * @param channel channel to write to
+	 * @return the number of bytes written
+	 * @throws IOException if the channel cannot be written
+	 */
+	private long drain(WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		long written = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+		return written;
+	}
+
+}
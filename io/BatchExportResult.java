@@ -0,0 +1,135 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Throughput and outcome of one batch export of schedules
+ * 
+ * @author Dinesh Karnati
+ */
+public class BatchExportResult {
+
+	/** Nanoseconds in a second */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/** Number of schedules written */
+	private long schedules;
+	/** Number of Activity records written */
+	private long records;
+	/** Number of bytes written */
+	private long bytes;
+	/** Names of the schedules that could not be written */
+	private final ArrayList<String> failed = new ArrayList<>();
+	/** Time the batch took, in nanoseconds */
+	private long elapsedNanos;
+
+	/**
+	 * Gets the number of schedules written
+	 * 
+	 * @return the number of schedules
+	 */
+	public synchronized long getSchedules() {
+		return schedules;
+	}
+
+	/**
+	 * Gets the number of Activity records written
+	 * 
+	 * @return the number of records
+	 */
+	public synchronized long getRecords() {
+		return records;
+	}
+
+	/**
+	 * Gets the number of bytes written
+	 * 
+	 * @return the number of bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Gets the names of the schedules that could not be written
+	 * 
+	 * @return an unmodifiable list of the failed schedules' names
+	 */
+	public synchronized List<String> getFailed() {
+		return Collections.unmodifiableList(new ArrayList<>(failed));
+	}
+
+	/**
+	 * Gets the time the batch took
+	 * 
+	 * @return the elapsed time in nanoseconds
+	 */
+	public synchronized long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of schedules written per second
+	 * 
+	 * @return the schedule throughput
+	 */
+	public synchronized double getSchedulesPerSecond() {
+		return elapsedNanos == 0 ? 0 : schedules * NANOS_PER_SECOND / elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of bytes written per second
+	 * 
+	 * @return the byte throughput
+	 */
+	public synchronized double getBytesPerSecond() {
+		return elapsedNanos == 0 ? 0 : bytes * NANOS_PER_SECOND / elapsedNanos;
+	}
+
+	/**
+	 * Records that a schedule was written
+	 * 
+	 * @param scheduleRecords number of records in the schedule
+	 * @param scheduleBytes   number of bytes written for the schedule
+	 */
+	synchronized void scheduleWritten(int scheduleRecords, long scheduleBytes) {
+		schedules++;
+		records += scheduleRecords;
+		bytes += scheduleBytes;
+	}
+
+	/**
+	 * Records that a schedule could not be written
+	 * 
+	 * @param name name of the schedule
+	 */
+	synchronized void scheduleFailed(String name) {
+		failed.add(name);
+	}
+
+	/**
+	 * Records how long the batch took
+	 * 
+	 * @param nanos elapsed time in nanoseconds
+	 */
+	synchronized void finished(long nanos) {
+		elapsedNanos = nanos;
+	}
+
+	/**
+	 * Returns the result as a string
+	 * 
+	 * @return a summary of the batch
+	 */
+	@Override
+	public synchronized String toString() {
+		return "Schedules: " + schedules + ", records: " + records + ", bytes: " + bytes + ", failed: "
+				+ failed.size() + ", schedules/s: " + Math.round(getSchedulesPerSecond());
+	}
+
+}
@@ -0,0 +1,104 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Throughput and outcome of one batch validation of schedules
+ * 
+ * @author Dinesh Karnati
+ */
+public class BatchValidationResult {
+
+	/** Nanoseconds in a second */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/** Number of schedules validated */
+	private long schedules;
+	/** Number of Activity records validated */
+	private long records;
+	/** Number of schedules with at least one problem */
+	private long invalidSchedules;
+	/** Time the batch took, in nanoseconds */
+	private long elapsedNanos;
+
+	/**
+	 * Gets the number of schedules validated
+	 * 
+	 * @return the number of schedules
+	 */
+	public synchronized long getSchedules() {
+		return schedules;
+	}
+
+	/**
+	 * Gets the number of Activity records validated
+	 * 
+	 * @return the number of records
+	 */
+	public synchronized long getRecords() {
+		return records;
+	}
+
+	/**
+	 * Gets the number of schedules with at least one problem
+	 * 
+	 * @return the number of invalid schedules
+	 */
+	public synchronized long getInvalidSchedules() {
+		return invalidSchedules;
+	}
+
+	/**
+	 * Gets the time the batch took
+	 * 
+	 * @return the elapsed time in nanoseconds
+	 */
+	public synchronized long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of schedules validated per second
+	 * 
+	 * @return the schedule throughput
+	 */
+	public synchronized double getSchedulesPerSecond() {
+		return elapsedNanos == 0 ? 0 : schedules * NANOS_PER_SECOND / elapsedNanos;
+	}
+
+	/**
+	 * Records that a schedule was validated
+	 * 
+	 * @param report          report of the schedule
+	 * @param scheduleRecords number of records in the schedule
+	 */
+	synchronized void scheduleValidated(ScheduleReport report, int scheduleRecords) {
+		schedules++;
+		records += scheduleRecords;
+		if (!report.isValid()) {
+			invalidSchedules++;
+		}
+	}
+
+	/**
+	 * Records how long the batch took
+	 * 
+	 * @param nanos elapsed time in nanoseconds
+	 */
+	synchronized void finished(long nanos) {
+		elapsedNanos = nanos;
+	}
+
+	/**
+	 * Returns the result as a string
+	 * 
+	 * @return a summary of the batch
+	 */
+	@Override
+	public synchronized String toString() {
+		return "Schedules: " + schedules + ", records: " + records + ", invalid schedules: " + invalidSchedules
+				+ ", schedules/s: " + Math.round(getSchedulesPerSecond());
+	}
+
+}
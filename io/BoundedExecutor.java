@@ -0,0 +1,98 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs tasks on a fixed pool of worker threads while keeping at most a fixed
+ * number of tasks queued or running at once. Tasks are handed over in batches:
+ * the thread submitting to a batch blocks until there is room, and closing the
+ * batch waits for every task it accepted to finish, so a batch of any size runs
+ * in bounded memory.
+ * 
+ * @author Dinesh Karnati
+ */
+final class BoundedExecutor implements AutoCloseable {
+
+	/** Worker threads that run tasks */
+	private final ExecutorService pool;
+	/** Most tasks of a batch that can be queued or running at once */
+	private final int maxInFlight;
+
+	/**
+	 * Constructs an executor. The caller checks that there is at least one
+	 * worker and that the queue capacity is not negative.
+	 * 
+	 * @param workers       number of worker threads
+	 * @param queueCapacity number of tasks that can wait for a worker
+	 */
+	BoundedExecutor(int workers, int queueCapacity) {
+		this.pool = Executors.newFixedThreadPool(workers);
+		this.maxInFlight = workers + queueCapacity;
+	}
+
+	/**
+	 * Starts a new batch of tasks
+	 * 
+	 * @return the batch
+	 */
+	Batch newBatch() {
+		return new Batch();
+	}
+
+	/**
+	 * Stops the worker threads once the tasks already handed over have run
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Tasks handed to the executor together, whose completion can be waited for
+	 */
+	final class Batch implements AutoCloseable {
+
+		/** Permits for the tasks that may be queued or running */
+		private final Semaphore room = new Semaphore(maxInFlight);
+
+		/**
+		 * Hands a task to a worker, blocking while the batch is full. The task's
+		 * permit is given back whether it completes or throws, and also if the
+		 * executor refuses it, so closing the batch never waits for a task that
+		 * will not run.
+		 * 
+		 * @param task task to run
+		 * @throws InterruptedException if interrupted while waiting for room
+		 */
+		void submit(Runnable task) throws InterruptedException {
+			room.acquire();
+			try {
+				pool.execute(() -> {
+					try {
+						task.run();
+					} finally {
+						room.release();
+					}
+				});
+			} catch (RuntimeException e) {
+				room.release();
+				throw e;
+			}
+		}
+
+		/**
+		 * Waits for every task the batch accepted to finish
+		 */
+		@Override
+		public void close() {
+			room.acquireUninterruptibly(maxInFlight);
+		}
+
+	}
+
+}
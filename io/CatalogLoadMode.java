@@ -0,0 +1,32 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Ways the Course records in a catalog file can be loaded
+ * 
+ * @author Dinesh Karnati
+ */
+public enum CatalogLoadMode {
+
+	/** Reads the file through a buffered stream */
+	STREAMING,
+	/**
+	 * Maps the file into memory in line aligned chunks and parses the records
+	 * straight from the mapped pages
+	 */
+	MAPPED,
+	/**
+	 * Maps the file into memory in line aligned chunks and parses the chunks in
+	 * parallel on the common fork-join pool
+	 */
+	PARALLEL,
+	/**
+	 * Loads the binary snapshot kept next to the file. When the snapshot is
+	 * missing or stale the file is read through a buffered stream and the
+	 * snapshot is rewritten.
+	 */
+	SNAPSHOT
+
+}
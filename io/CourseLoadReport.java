@@ -0,0 +1,167 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summarizes a load of Course records, keeping track of how many Courses were
+ * read, how many were skipped as duplicates and which lines of the file were
+ * rejected as invalid
+ * 
+ * @author Dinesh Karnati
+ */
+public class CourseLoadReport {
+
+	/** Number of valid Courses read */
+	private int coursesRead;
+	/** Number of valid Courses skipped because their name and section was taken */
+	private int duplicates;
+	/** Line numbers, starting at 1, of the lines that were rejected */
+	private ArrayList<Integer> rejectedLines = new ArrayList<>();
+	/** Number of field values that were shared with an equal, already loaded value */
+	private long sharedStrings;
+	/** Estimated bytes of heap saved by sharing field values */
+	private long bytesSaved;
+
+	/**
+	 * Gets the number of valid Courses read
+	 * 
+	 * @return the number of Courses read
+	 */
+	public int getCoursesRead() {
+		return coursesRead;
+	}
+
+	/**
+	 * Gets the number of valid Courses that were skipped because a Course with
+	 * the same name and section was read earlier
+	 * 
+	 * @return the number of duplicates skipped
+	 */
+	public int getDuplicateCount() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the number of lines that were rejected as invalid
+	 * 
+	 * @return the number of invalid lines
+	 */
+	public int getInvalidLineCount() {
+		return rejectedLines.size();
+	}
+
+	/**
+	 * Gets the line numbers, starting at 1, of the lines that were rejected as
+	 * invalid
+	 * 
+	 * @return an unmodifiable list of the rejected line numbers in file order
+	 */
+	public List<Integer> getRejectedLines() {
+		return Collections.unmodifiableList(rejectedLines);
+	}
+
+	/**
+	 * Gets the number of field values of the Courses read that were shared with
+	 * an equal value already in memory instead of being stored again
+	 * 
+	 * @return the number of shared values
+	 */
+	public long getSharedStringCount() {
+		return sharedStrings;
+	}
+
+	/**
+	 * Gets the estimated bytes of heap the load saved by sharing field values
+	 * 
+	 * @return the bytes saved
+	 */
+	public long getBytesSaved() {
+		return bytesSaved;
+	}
+
+	/**
+	 * Records that a valid Course was read
+	 */
+	void courseRead() {
+		coursesRead++;
+	}
+
+	/**
+	 * Records that a valid Course was skipped as a duplicate
+	 */
+	void duplicateSkipped() {
+		duplicates++;
+	}
+
+	/**
+	 * Records that field values of the Courses read were shared
+	 * 
+	 * @param count number of shared values
+	 * @param bytes estimated bytes saved by sharing them
+	 */
+	void stringsShared(long count, long bytes) {
+		sharedStrings += count;
+		bytesSaved += bytes;
+	}
+
+	/**
+	 * Records that a line was rejected as invalid
+	 * 
+	 * @param lineNumber number of the rejected line, starting at 1
+	 */
+	void lineRejected(int lineNumber) {
+		rejectedLines.add(lineNumber);
+	}
+
+	/**
+	 * Adds the counts of a report for a later part of the same file to this
+	 * report
+	 * 
+	 * @param part       report for the later part of the file
+	 * @param lineOffset number of lines in the file before the part
+	 */
+	void append(CourseLoadReport part, int lineOffset) {
+		coursesRead += part.coursesRead;
+		duplicates += part.duplicates;
+		sharedStrings += part.sharedStrings;
+		bytesSaved += part.bytesSaved;
+		for (int line : part.rejectedLines) {
+			rejectedLines.add(line + lineOffset);
+		}
+	}
+
+	/**
+	 * Adds the counts of a load saved earlier, such as one restored from a
+	 * catalog snapshot, to this report
+	 * 
+	 * @param courses        number of valid Courses read
+	 * @param duplicateCount number of Courses skipped as duplicates
+	 * @param rejected       line numbers of the rejected lines, in file order
+	 * @param shared         number of shared field values
+	 * @param bytes          estimated bytes saved by sharing field values
+	 */
+	void append(int courses, int duplicateCount, List<Integer> rejected, long shared, long bytes) {
+		coursesRead += courses;
+		duplicates += duplicateCount;
+		rejectedLines.addAll(rejected);
+		sharedStrings += shared;
+		bytesSaved += bytes;
+	}
+
+	/**
+	 * Returns the report as a string
+	 * 
+	 * @return a summary of the load
+	 */
+	@Override
+	public String toString() {
+		return "Courses read: " + coursesRead + ", duplicates: " + duplicates + ", invalid lines: "
+				+ rejectedLines.size();
+	}
+
+}
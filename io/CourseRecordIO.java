@@ -1,10 +1,20 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Scanner;
-import java.io.FileInputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
 
 /**
  * Reads Course records from text files. Writes a set of CourseRecords to a
@@ -15,6 +25,9 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Most distinct field values a single load shares */
+	private static final int MAX_SHARED_STRINGS = 1 << 20;
+
 	/**
 	 * Reads course records from a file and generates a list of valid Courses. Any
 	 * invalid Courses are ignored. If the file to read cannot be found or the
@@ -25,89 +38,190 @@ public class CourseRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
-		ArrayList<Course> courses = new ArrayList<Course>(); // Create an empty array of Course objects
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
+		return readCourseRecords(fileName, new CourseLoadReport());
+	}
 
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+	/**
+	 * Reads course records from a file and generates a list of valid Courses. Any
+	 * invalid Courses are ignored and their line numbers are recorded in the
+	 * given report. A Course with the same name and section as one read earlier
+	 * in the file is ignored and counted as a duplicate.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the outcome of the load in
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseLoadReport report)
+			throws FileNotFoundException {
+		return readCourseRecords(fileName, report, CatalogLoadMode.STREAMING);
+	}
+
+	/**
+	 * Reads course records from a file using the given load mode and generates a
+	 * list of valid Courses. Every mode produces the same Courses in the same
+	 * order. Any invalid Courses are ignored and their line numbers are recorded
+	 * in the given report. A Course with the same name and section as one read
+	 * earlier in the file is ignored and counted as a duplicate.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the outcome of the load in
+	 * @param mode     how to read the file
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseLoadReport report,
+			CatalogLoadMode mode) throws FileNotFoundException {
+		if (mode == CatalogLoadMode.PARALLEL) {
+			return readCourseRecordsParallel(fileName, report, ForkJoinPool.commonPool());
+		}
+		if (mode == CatalogLoadMode.SNAPSHOT) {
+			return readCourseRecordsFromSnapshot(fileName, report);
+		}
+		Charset charset = Charset.defaultCharset();
+		StringPool strings = new StringPool(MAX_SHARED_STRINGS);
+		try {
+			if (mode == CatalogLoadMode.MAPPED && MappedCatalogReader.canChunk(charset)) {
+				List<ByteBuffer> chunks;
+				try (FileChannel channel = new FileInputStream(fileName).getChannel()) {
+					chunks = MappedCatalogReader.mapChunks(channel, MappedCatalogReader.CHUNK_SIZE);
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
-			} catch (IllegalArgumentException e) {
-				// The line is invalid b/c we couldn't create a course, skip it!
+				try (CourseRecordReader reader = new CourseRecordReader(new MappedCatalogReader(chunks, charset),
+						strings)) {
+					return readCourses(reader, strings, report);
+				}
+			}
+			try (CourseRecordReader reader = new CourseRecordReader(
+					new InputStreamReader(new FileInputStream(fileName), charset), strings)) {
+				return readCourses(reader, strings, report);
 			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			FileNotFoundException unreadable = new FileNotFoundException("Cannot read " + fileName);
+			unreadable.initCause(e);
+			throw unreadable;
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		// Return the ArrayList with all the courses we read!
-		return courses;
 	}
 
 	/**
-	 * Takes in the given information for a course and creates a course object with
-	 * it
+	 * Reads course records from the snapshot kept for a file. If the snapshot is
+	 * missing or stale the file itself is read and a new snapshot is written for
+	 * the next load. Failing to write the snapshot does not fail the load.
 	 * 
-	 * @param line all necessary information about a course
-	 * @return a course object with all the given information
-	 * @throws IllegalArgumentException if the course information in the file is in the wrong format
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the outcome of the load in
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
-	private static Course readCourse(String line) {
-		Scanner lineReader = new Scanner(line);
-
-		lineReader.useDelimiter(",");
+	private static ArrayList<Course> readCourseRecordsFromSnapshot(String fileName, CourseLoadReport report)
+			throws FileNotFoundException {
+		File source = new File(fileName);
+		if (!source.isFile()) {
+			throw new FileNotFoundException(fileName);
+		}
+		String snapshotFile = CourseSnapshotIO.snapshotFileName(fileName);
+		ArrayList<Course> courses = CourseSnapshotIO.readSnapshot(snapshotFile, fileName, report);
+		if (courses != null) {
+			return courses;
+		}
 
+		// Stamp the snapshot with the catalog as it was before reading it
+		long length = source.length();
+		long modified = source.lastModified();
+		CourseLoadReport textReport = new CourseLoadReport();
+		courses = readCourseRecords(fileName, textReport, CatalogLoadMode.STREAMING);
+		report.append(textReport, 0);
 		try {
-			String name = lineReader.next();
-			String title = lineReader.next();
-			String section = lineReader.next();
-			int credits = lineReader.nextInt();
-			String instructor = lineReader.next();
-			String meetingDay = lineReader.next();
+			CourseSnapshotIO.writeSnapshot(snapshotFile, length, modified, courses, textReport);
+		} catch (IOException e) {
+			// The text catalog was read, so the load still succeeds
+		}
+		return courses;
+	}
 
-			if ("A".equals(meetingDay)) {
-				if (lineReader.hasNext()) {
-					lineReader.close();
-					throw new IllegalArgumentException("Invalid Course.");
-				} else {
-					Course c1 = new Course(name, title, section, credits, instructor, meetingDay);
-					lineReader.close();
-					return c1;
-				}
-			} else {
-				int startTime = lineReader.nextInt();
-				int endTime = lineReader.nextInt();
+	/**
+	 * Reads course records from a file by parsing line aligned chunks of it in
+	 * parallel on the given pool. The Courses, their order and the report are the
+	 * same as a sequential read of the file would produce.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the outcome of the load in
+	 * @param pool     pool to parse the chunks on
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName, CourseLoadReport report,
+			ForkJoinPool pool) throws FileNotFoundException {
+		Charset charset = Charset.defaultCharset();
+		if (!MappedCatalogReader.canChunk(charset)) {
+			return readCourseRecords(fileName, report, CatalogLoadMode.STREAMING);
+		}
+		try {
+			List<ByteBuffer> chunks;
+			try (FileChannel channel = new FileInputStream(fileName).getChannel()) {
+				chunks = MappedCatalogReader.mapChunks(channel,
+						ParallelCatalogParser.chunkSize(channel.size(), pool.getParallelism()));
+			}
+			ArrayList<Course> parsed = new ArrayList<Course>();
+			StringPool strings = new StringPool(MAX_SHARED_STRINGS);
+			ParallelCatalogParser.parse(chunks, charset, pool, strings, parsed, report);
+			report.stringsShared(strings.getHitCount(), strings.getBytesSaved());
 
-				if (lineReader.hasNext()) {
-					lineReader.close();
-					throw new IllegalArgumentException("Invalid Course.");
-				}
-				
-				Course c2 = new Course(name, title, section, credits, instructor, meetingDay, startTime, endTime);
-				lineReader.close();
-				return c2;
+			ArrayList<Course> courses = new ArrayList<Course>(parsed.size());
+			HashSet<String> seen = new HashSet<>();
+			for (Course course : parsed) {
+				addIfUnique(course, courses, seen, report);
 			}
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Invalid Course.");
+			return courses;
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			FileNotFoundException unreadable = new FileNotFoundException("Cannot read " + fileName);
+			unreadable.initCause(e);
+			throw unreadable;
+		}
+	}
+
+	/**
+	 * Reads every valid Course from a reader, keeping only the first Course read
+	 * with each name and section
+	 * 
+	 * @param reader  reader to read Courses from
+	 * @param strings pool the reader shares field values through
+	 * @param report  report to record the outcome of the load in
+	 * @return a list of valid Courses
+	 * @throws IOException if the reader cannot be read
+	 */
+	private static ArrayList<Course> readCourses(CourseRecordReader reader, StringPool strings,
+			CourseLoadReport report) throws IOException {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		// Name and section of every course read so far, so the first one read wins
+		HashSet<String> seen = new HashSet<>();
+		Course course = reader.next(report);
+		while (course != null) {
+			addIfUnique(course, courses, seen, report);
+			course = reader.next(report);
+		}
+		report.stringsShared(strings.getHitCount(), strings.getBytesSaved());
+		return courses;
+	}
+
+	/**
+	 * Adds a Course to the list unless a Course with the same name and section
+	 * has already been added, in which case it is counted as a duplicate
+	 * 
+	 * @param course  Course to add
+	 * @param courses Courses added so far
+	 * @param seen    name and section of every Course added so far
+	 * @param report  report to count duplicates in
+	 */
+	private static void addIfUnique(Course course, ArrayList<Course> courses, HashSet<String> seen,
+			CourseLoadReport report) {
+		if (seen.add(course.getName() + "," + course.getSection())) {
+			courses.add(course);
+		} else {
+			report.duplicateSkipped();
 		}
 	}
 
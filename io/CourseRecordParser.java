@@ -0,0 +1,159 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Parses a single Course record of the form
+ * name,title,section,credits,instructor,days[,start,end] straight out of a
+ * character buffer. Fields are located by offset and integers are parsed in
+ * place. Once a line is accepted as a valid Course, its field values are
+ * shared through the load's StringPool, so values of rejected lines are never
+ * pooled and each distinct value of the load is kept once.
+ * 
+ * A single trailing comma is ignored, matching the Scanner based reader this
+ * replaces.
+ * 
+ * @author Dinesh Karnati
+ */
+final class CourseRecordParser {
+
+	/** Most fields a valid record can have */
+	private static final int MAX_FIELDS = 8;
+	/** Fields in a record for an arranged Course */
+	private static final int ARRANGED_FIELDS = 6;
+
+	/** Start offset of each field in the current line */
+	private final int[] fieldStart = new int[MAX_FIELDS];
+	/** End offset, exclusive, of each field in the current line */
+	private final int[] fieldEnd = new int[MAX_FIELDS];
+	/** Pool the field values of valid Courses are shared through */
+	private final StringPool pool;
+
+	/**
+	 * Constructs a parser that shares field values through the given pool
+	 * 
+	 * @param pool pool of the load the parser is part of
+	 */
+	CourseRecordParser(StringPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Parses the Course record held in buf between start and end
+	 * 
+	 * @param buf   buffer holding the line
+	 * @param start offset of the first character of the line
+	 * @param end   offset just past the last character of the line
+	 * @return the Course, or null if the line is not a valid Course record
+	 */
+	Course parse(char[] buf, int start, int end) {
+		if (end > start && buf[end - 1] == ',') {
+			end--;
+		}
+
+		int fields = 0;
+		int fieldBegin = start;
+		for (int i = start; i <= end; i++) {
+			if (i == end || buf[i] == ',') {
+				if (fields == MAX_FIELDS) {
+					return null;
+				}
+				fieldStart[fields] = fieldBegin;
+				fieldEnd[fields] = i;
+				fields++;
+				fieldBegin = i + 1;
+			}
+		}
+
+		if (fields < ARRANGED_FIELDS) {
+			return null;
+		}
+		boolean arranged = fieldEnd[5] - fieldStart[5] == 1 && buf[fieldStart[5]] == 'A';
+		if (arranged ? fields != ARRANGED_FIELDS : fields != MAX_FIELDS) {
+			return null;
+		}
+
+		long credits = parseInt(buf, fieldStart[3], fieldEnd[3]);
+		if (credits == Long.MIN_VALUE) {
+			return null;
+		}
+
+		String name = field(buf, 0);
+		String title = field(buf, 1);
+		String section = field(buf, 2);
+		String instructor = field(buf, 4);
+		String meetingDays = arranged ? "A" : field(buf, 5);
+
+		Course course;
+		try {
+			if (arranged) {
+				course = new Course(name, title, section, (int) credits, instructor, meetingDays);
+			} else {
+				long startTime = parseInt(buf, fieldStart[6], fieldEnd[6]);
+				long endTime = parseInt(buf, fieldStart[7], fieldEnd[7]);
+				if (startTime == Long.MIN_VALUE || endTime == Long.MIN_VALUE) {
+					return null;
+				}
+				course = new Course(name, title, section, (int) credits, instructor, meetingDays, (int) startTime,
+						(int) endTime);
+			}
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		// Only now is the line known to be valid, so only now are its values pooled
+		return Course.fromValidated(pool.intern(course.getName()), pool.intern(course.getTitle()),
+				pool.intern(course.getSection()), course.getCredits(), pool.intern(course.getInstructorId()),
+				pool.intern(course.getMeetingDays()), course.getStartTime(), course.getEndTime());
+	}
+
+	/**
+	 * Creates a String from one of the current line's fields
+	 * 
+	 * @param buf   buffer holding the line
+	 * @param field index of the field
+	 * @return the field's value
+	 */
+	private String field(char[] buf, int field) {
+		return new String(buf, fieldStart[field], fieldEnd[field] - fieldStart[field]);
+	}
+
+	/**
+	 * Parses an optionally signed decimal int from buf between start and end
+	 * 
+	 * @param buf   buffer holding the digits
+	 * @param start offset of the first character
+	 * @param end   offset just past the last character
+	 * @return the value, or Long.MIN_VALUE if the characters are not a valid int
+	 */
+	private static long parseInt(char[] buf, int start, int end) {
+		boolean negative = start < end && buf[start] == '-';
+		boolean signed = negative || (start < end && buf[start] == '+');
+		int i = signed ? start + 1 : start;
+		if (i == end) {
+			return Long.MIN_VALUE;
+		}
+
+		long value = 0;
+		for (; i < end; i++) {
+			char c = buf[i];
+			if (c < '0' || c > '9') {
+				return Long.MIN_VALUE;
+			}
+			value = value * 10 + (c - '0');
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				return Long.MIN_VALUE;
+			}
+		}
+
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			return Long.MIN_VALUE;
+		}
+		return value;
+	}
+
+}
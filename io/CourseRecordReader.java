@@ -0,0 +1,151 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Reads Course records line by line from a character stream. Lines are located
+ * in a single reusable buffer and handed to a CourseRecordParser without being
+ * copied into Strings. Lines may end in \n, \r\n or \r.
+ * 
+ * @author Dinesh Karnati
+ */
+final class CourseRecordReader implements Closeable {
+
+	/** Initial size of the character buffer */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Stream the records are read from */
+	private final Reader in;
+	/** Parser for individual records */
+	private final CourseRecordParser parser;
+	/** Buffer of characters read from the stream */
+	private char[] buf = new char[BUFFER_SIZE];
+	/** Offset of the next unread character in the buffer */
+	private int pos;
+	/** Offset just past the last character read into the buffer */
+	private int limit;
+	/** Whether the stream has been read to the end */
+	private boolean eof;
+	/** Whether the previous line ended in \r, so a leading \n must be skipped */
+	private boolean skipLineFeed;
+	/** Number of the last line read, starting at 1 */
+	private int lineNumber;
+
+	/**
+	 * Constructs a reader over the given stream
+	 * 
+	 * @param in   stream to read records from
+	 * @param pool pool of the load to share the field values of valid Courses
+	 *             through
+	 */
+	CourseRecordReader(Reader in, StringPool pool) {
+		this.in = in;
+		this.parser = new CourseRecordParser(pool);
+	}
+
+	/**
+	 * Reads the next valid Course. Invalid lines are skipped and recorded in the
+	 * report.
+	 * 
+	 * @param report report to record rejected lines in
+	 * @return the next valid Course, or null at the end of the stream
+	 * @throws IOException if the stream cannot be read
+	 */
+	Course next(CourseLoadReport report) throws IOException {
+		while (true) {
+			if (skipLineFeed) {
+				if (pos == limit && !fill()) {
+					return null;
+				}
+				if (buf[pos] == '\n') {
+					pos++;
+				}
+				skipLineFeed = false;
+			}
+
+			int i = pos;
+			while (i < limit && buf[i] != '\n' && buf[i] != '\r') {
+				i++;
+			}
+			if (i == limit && !eof) {
+				fill();
+				continue;
+			}
+			if (i == limit && pos == limit) {
+				return null;
+			}
+
+			int start = pos;
+			if (i < limit) {
+				skipLineFeed = buf[i] == '\r';
+				pos = i + 1;
+			} else {
+				pos = i;
+			}
+			lineNumber++;
+
+			Course course = parser.parse(buf, start, i);
+			if (course != null) {
+				report.courseRead();
+				return course;
+			}
+			report.lineRejected(lineNumber);
+		}
+	}
+
+	/**
+	 * Gets the number of lines read so far
+	 * 
+	 * @return the number of the last line read, starting at 1
+	 */
+	int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Moves the unread characters to the front of the buffer, growing it if it is
+	 * full, and reads more characters from the stream
+	 * 
+	 * @return false if the stream is at its end and no characters are left
+	 * @throws IOException if the stream cannot be read
+	 */
+	private boolean fill() throws IOException {
+		int remaining = limit - pos;
+		if (remaining == buf.length) {
+			char[] grown = new char[buf.length * 2];
+			System.arraycopy(buf, pos, grown, 0, remaining);
+			buf = grown;
+		} else {
+			System.arraycopy(buf, pos, buf, 0, remaining);
+		}
+		pos = 0;
+		limit = remaining;
+
+		int read = in.read(buf, limit, buf.length - limit);
+		if (read < 0) {
+			eof = true;
+		} else {
+			limit += read;
+		}
+		return limit > 0;
+	}
+
+	/**
+	 * Closes the underlying stream
+	 * 
+	 * @throws IOException if the stream cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
@@ -0,0 +1,245 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads and writes binary snapshots of a validated course catalog so it can be
+ * reloaded without parsing and validating the text catalog again. A snapshot
+ * holds a header with a format version and the size and modification time of
+ * the text catalog it was made from, a table of every distinct string, a fixed
+ * width record per Course, the counts and rejected lines of the load report for
+ * the text catalog and a CRC32 checksum of everything before it. A
+ * snapshot that is damaged, from another format version or older than its text
+ * catalog is never used.
+ * 
+ * @author Dinesh Karnati
+ */
+public class CourseSnapshotIO {
+
+	/** Marks the start of a snapshot file */
+	private static final int MAGIC = 0x57534353;
+	/** Version of the snapshot format */
+	private static final int VERSION = 2;
+	/** Size of the trailing checksum in bytes */
+	private static final int CHECKSUM_BYTES = Long.BYTES;
+	/** Size of the header in bytes */
+	private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+	/**
+	 * Gets the name of the snapshot file kept for a text catalog
+	 * 
+	 * @param fileName text catalog file
+	 * @return the snapshot file for the catalog
+	 */
+	public static String snapshotFileName(String fileName) {
+		return fileName + ".snapshot";
+	}
+
+	/**
+	 * Writes a snapshot of the given Courses and the report of the load that read
+	 * them from the given text catalog. The report must be the one that load
+	 * filled in, so a snapshot reload reports the same results as reading the
+	 * text catalog. The snapshot is written to a temporary file that replaces
+	 * the old snapshot only once it is complete.
+	 * 
+	 * @param snapshotFile file to write the snapshot to
+	 * @param sourceFile   text catalog the Courses were read from
+	 * @param courses      valid Courses to save
+	 * @param report       report of the load that read the Courses
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String snapshotFile, String sourceFile, List<Course> courses,
+			CourseLoadReport report) throws IOException {
+		File source = new File(sourceFile);
+		writeSnapshot(snapshotFile, source.length(), source.lastModified(), courses, report);
+	}
+
+	/**
+	 * Writes a snapshot of the given Courses and their load report, stamped with
+	 * the size and modification time the text catalog had when they were read
+	 * 
+	 * @param snapshotFile   file to write the snapshot to
+	 * @param sourceLength   size of the text catalog in bytes
+	 * @param sourceModified modification time of the text catalog
+	 * @param courses        valid Courses to save
+	 * @param report         report of the load that read the Courses
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	static void writeSnapshot(String snapshotFile, long sourceLength, long sourceModified, List<Course> courses,
+			CourseLoadReport report) throws IOException {
+		HashMap<String, Integer> ids = new HashMap<>();
+		ArrayList<String> strings = new ArrayList<>();
+		int[] records = new int[courses.size() * 5];
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			records[i * 5] = stringId(c.getName(), ids, strings);
+			records[i * 5 + 1] = stringId(c.getTitle(), ids, strings);
+			records[i * 5 + 2] = stringId(c.getSection(), ids, strings);
+			records[i * 5 + 3] = stringId(c.getInstructorId(), ids, strings);
+			records[i * 5 + 4] = stringId(c.getMeetingDays(), ids, strings);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeLong(sourceLength);
+		out.writeLong(sourceModified);
+		out.writeInt(strings.size());
+		for (String s : strings) {
+			out.writeUTF(s);
+		}
+		out.writeInt(courses.size());
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			for (int f = 0; f < 5; f++) {
+				out.writeInt(records[i * 5 + f]);
+			}
+			out.writeByte(c.getCredits());
+			out.writeShort(c.getStartTime());
+			out.writeShort(c.getEndTime());
+		}
+		out.writeInt(report.getCoursesRead());
+		out.writeInt(report.getDuplicateCount());
+		out.writeLong(report.getSharedStringCount());
+		out.writeLong(report.getBytesSaved());
+		List<Integer> rejected = report.getRejectedLines();
+		out.writeInt(rejected.size());
+		for (int line : rejected) {
+			out.writeInt(line);
+		}
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeLong(crc.getValue());
+		out.close();
+
+		ActivityRecordWriter.replaceFile(new File(snapshotFile).getAbsoluteFile().toPath(), temp -> {
+			Files.write(temp, bytes.toByteArray(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			return bytes.size();
+		});
+	}
+
+	/**
+	 * Reads the Courses saved in a snapshot. The Courses are recreated without
+	 * validating their fields again.
+	 * 
+	 * @param snapshotFile snapshot file to read
+	 * @param sourceFile   text catalog the snapshot must have been made from
+	 * @return the saved Courses, or null if the snapshot is missing, damaged,
+	 *         from another format version or made from a different version of
+	 *         the text catalog
+	 */
+	public static ArrayList<Course> readSnapshot(String snapshotFile, String sourceFile) {
+		return readSnapshot(snapshotFile, sourceFile, new CourseLoadReport());
+	}
+
+	/**
+	 * Reads the Courses saved in a snapshot and adds the saved load report to the
+	 * given report, so it matches the report of reading the text catalog. The
+	 * Courses are recreated without validating their fields again.
+	 * 
+	 * @param snapshotFile snapshot file to read
+	 * @param sourceFile   text catalog the snapshot must have been made from
+	 * @param report       report to add the saved load report to, left unchanged
+	 *                     if the snapshot cannot be used
+	 * @return the saved Courses, or null if the snapshot is missing, damaged,
+	 *         from another format version or made from a different version of
+	 *         the text catalog
+	 */
+	public static ArrayList<Course> readSnapshot(String snapshotFile, String sourceFile, CourseLoadReport report) {
+		File source = new File(sourceFile);
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(new File(snapshotFile).toPath());
+		} catch (IOException e) {
+			return null;
+		}
+		if (bytes.length < HEADER_BYTES + CHECKSUM_BYTES) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != source.length()
+					|| in.readLong() != source.lastModified()) {
+				return null;
+			}
+			CRC32 crc = new CRC32();
+			crc.update(bytes, 0, bytes.length - CHECKSUM_BYTES);
+			long checksum = 0;
+			for (int i = bytes.length - CHECKSUM_BYTES; i < bytes.length; i++) {
+				checksum = checksum << 8 | (bytes[i] & 0xFF);
+			}
+			if (checksum != crc.getValue()) {
+				return null;
+			}
+
+			// The table holds each distinct string once, so the Courses share them as is
+			String[] strings = new String[in.readInt()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+			int count = in.readInt();
+			ArrayList<Course> courses = new ArrayList<Course>(count);
+			for (int i = 0; i < count; i++) {
+				String name = strings[in.readInt()];
+				String title = strings[in.readInt()];
+				String section = strings[in.readInt()];
+				String instructorId = strings[in.readInt()];
+				String meetingDays = strings[in.readInt()];
+				int credits = in.readByte();
+				int startTime = in.readShort();
+				int endTime = in.readShort();
+				courses.add(Course.fromValidated(name, title, section, credits, instructorId, meetingDays,
+						startTime, endTime));
+			}
+			int coursesRead = in.readInt();
+			int duplicates = in.readInt();
+			long sharedStrings = in.readLong();
+			long bytesSaved = in.readLong();
+			int rejectedCount = in.readInt();
+			ArrayList<Integer> rejected = new ArrayList<>(rejectedCount);
+			for (int i = 0; i < rejectedCount; i++) {
+				rejected.add(in.readInt());
+			}
+			report.append(coursesRead, duplicates, rejected, sharedStrings, bytesSaved);
+			return courses;
+		} catch (IOException | ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the id of a string in the string table, adding it if it is new
+	 * 
+	 * @param s       string to look up
+	 * @param ids     id of every string in the table
+	 * @param strings strings in the table in id order
+	 * @return the string's id
+	 */
+	private static int stringId(String s, HashMap<String, Integer> ids, ArrayList<String> strings) {
+		Integer id = ids.get(s);
+		if (id == null) {
+			id = strings.size();
+			ids.put(s, id);
+			strings.add(s);
+		}
+		return id;
+	}
+
+}
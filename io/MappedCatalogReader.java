@@ -0,0 +1,175 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads characters out of a catalog file that has been mapped into memory.
+ * The file is mapped in chunks that each end on a line boundary, and the
+ * chunks are decoded one after another straight from the mapped pages, so the
+ * file is never copied onto the heap.
+ * 
+ * @author Dinesh Karnati
+ */
+final class MappedCatalogReader extends Reader {
+
+	/** Target size of a mapped chunk in bytes */
+	static final int CHUNK_SIZE = 8 << 20;
+	/** Largest window searched for a line end, leaving room for the lookahead byte */
+	private static final long MAX_WINDOW = Integer.MAX_VALUE - 1;
+
+	/** Line aligned chunks of the file */
+	private final List<ByteBuffer> chunks;
+	/** Decoder for the file's charset */
+	private final CharsetDecoder decoder;
+	/** Index of the chunk being decoded */
+	private int chunk;
+
+	/**
+	 * Constructs a reader over the given chunks
+	 * 
+	 * @param chunks  line aligned chunks of the file, in file order
+	 * @param charset charset the file is encoded in
+	 */
+	MappedCatalogReader(List<ByteBuffer> chunks, Charset charset) {
+		this.chunks = chunks;
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Reads characters into a portion of an array
+	 * 
+	 * @param cbuf destination buffer
+	 * @param off  offset to start storing characters at
+	 * @param len  maximum number of characters to read
+	 * @return the number of characters read, or -1 at the end of the file
+	 * @throws IOException if the chunks cannot be decoded
+	 */
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+		while (out.hasRemaining() && chunk < chunks.size()) {
+			ByteBuffer in = chunks.get(chunk);
+			if (in.hasRemaining()) {
+				CoderResult result = decoder.decode(in, out, true);
+				if (result.isError()) {
+					result.throwException();
+				}
+				if (result.isOverflow()) {
+					break;
+				}
+			}
+			if (decoder.flush(out).isOverflow()) {
+				break;
+			}
+			decoder.reset();
+			chunk++;
+		}
+		int read = out.position() - off;
+		return read == 0 && len > 0 ? -1 : read;
+	}
+
+	/**
+	 * Releases the chunks. The mappings themselves are released when they are
+	 * garbage collected.
+	 */
+	@Override
+	public void close() {
+		chunk = chunks.size();
+	}
+
+	/**
+	 * Checks whether the line terminators and field separators of a charset are
+	 * single bytes with their ASCII values, which the chunking relies on
+	 * 
+	 * @param charset charset to check
+	 * @return true if the file can be chunked on its raw bytes
+	 */
+	static boolean canChunk(Charset charset) {
+		try {
+			ByteBuffer encoded = charset.newEncoder().encode(CharBuffer.wrap("\n\r,"));
+			return encoded.remaining() == 3 && encoded.get(0) == '\n' && encoded.get(1) == '\r'
+					&& encoded.get(2) == ',';
+		} catch (CharacterCodingException | UnsupportedOperationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Maps a file into read only chunks of about chunkSize bytes. Each chunk but
+	 * the last ends just after a line terminator, so no line spans two chunks.
+	 * 
+	 * @param channel   channel of the file to map
+	 * @param chunkSize target size of each chunk in bytes
+	 * @return the chunks in file order
+	 * @throws IOException if the file cannot be mapped or has a line too long to
+	 *                     map
+	 */
+	static List<ByteBuffer> mapChunks(FileChannel channel, int chunkSize) throws IOException {
+		List<ByteBuffer> mapped = new ArrayList<>();
+		long size = channel.size();
+		long start = 0;
+
+		while (start < size) {
+			long window = chunkSize;
+			ByteBuffer chunk = null;
+			while (chunk == null) {
+				if (start + window >= size) {
+					chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, size - start);
+				} else {
+					// Map one byte past the window so a \r\n pair is never split
+					ByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, start, window + 1);
+					int end = lastLineEnd(probe, (int) window);
+					if (end < 0 && window == MAX_WINDOW) {
+						throw new IOException("Line too long to map at byte " + start);
+					} else if (end < 0) {
+						window = Math.min(window * 2, MAX_WINDOW);
+					} else {
+						probe.limit(end);
+						chunk = probe.slice();
+					}
+				}
+			}
+			mapped.add(chunk);
+			start += chunk.remaining();
+		}
+		return mapped;
+	}
+
+	/**
+	 * Finds where the last complete line in the first window bytes of a buffer
+	 * ends
+	 * 
+	 * @param buffer buffer holding at least window + 1 bytes
+	 * @param window number of bytes to search
+	 * @return the offset just past the last line terminator, or -1 if there is
+	 *         none
+	 */
+	private static int lastLineEnd(ByteBuffer buffer, int window) {
+		for (int i = window - 1; i >= 0; i--) {
+			byte b = buffer.get(i);
+			if (b == '\n') {
+				return i + 1;
+			}
+			if (b == '\r') {
+				return buffer.get(i + 1) == '\n' ? i + 2 : i + 1;
+			}
+		}
+		return -1;
+	}
+
+}
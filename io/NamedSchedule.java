@@ -0,0 +1,61 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * A schedule of Activities along with the name it is exported under, such as a
+ * student's id
+ * 
+ * @author Dinesh Karnati
+ */
+public class NamedSchedule {
+
+	/** Name the schedule is exported under */
+	private final String name;
+	/** Activities in the schedule */
+	private final List<? extends Activity> activities;
+
+	/**
+	 * Constructs a named schedule
+	 * 
+	 * @param name       name the schedule is exported under
+	 * @param activities Activities in the schedule
+	 * @throws IllegalArgumentException if the name is null, empty or holds a
+	 *                                  line break, which would end an archive
+	 *                                  header early, or the activities are null
+	 */
+	public NamedSchedule(String name, List<? extends Activity> activities) {
+		if (name == null || name.length() == 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("Invalid schedule name.");
+		}
+		if (activities == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		this.name = name;
+		this.activities = activities;
+	}
+
+	/**
+	 * Gets the name the schedule is exported under
+	 * 
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the Activities in the schedule
+	 * 
+	 * @return the activities
+	 */
+	public List<? extends Activity> getActivities() {
+		return activities;
+	}
+
+}
@@ -0,0 +1,162 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Parses the line aligned chunks of a mapped catalog file in parallel on a
+ * fork-join pool. Each chunk is parsed into its own list of Courses and its own
+ * report, and the results are handed back in file order so the caller can merge
+ * them exactly as a sequential read would have produced them.
+ * 
+ * @author Dinesh Karnati
+ */
+final class ParallelCatalogParser extends RecursiveAction {
+
+	/** ID used for serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Smallest chunk worth handing to its own task, in bytes */
+	private static final int MIN_CHUNK_SIZE = 256 << 10;
+	/** Chunks to aim for per worker so uneven chunks still balance out */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	/** Chunks of the file, in file order */
+	private final transient List<ByteBuffer> chunks;
+	/** Charset the file is encoded in */
+	private final transient Charset charset;
+	/** Pool every chunk shares the field values of valid Courses through */
+	private final transient StringPool strings;
+	/** Courses parsed from each chunk */
+	private final transient List<List<Course>> courses;
+	/** Report for each chunk, with line numbers counted from the chunk's start */
+	private final transient List<CourseLoadReport> reports;
+	/** Number of lines in each chunk */
+	private final int[] lines;
+	/** Index of the first chunk this task parses */
+	private final int from;
+	/** Index just past the last chunk this task parses */
+	private final int to;
+
+	/**
+	 * Constructs a task that parses chunks from through to - 1
+	 * 
+	 * @param parent parser whose chunks and results are shared
+	 * @param from   index of the first chunk to parse
+	 * @param to     index just past the last chunk to parse
+	 */
+	private ParallelCatalogParser(ParallelCatalogParser parent, int from, int to) {
+		this.chunks = parent.chunks;
+		this.charset = parent.charset;
+		this.strings = parent.strings;
+		this.courses = parent.courses;
+		this.reports = parent.reports;
+		this.lines = parent.lines;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Constructs a task that parses every chunk
+	 * 
+	 * @param chunks  line aligned chunks of the file, in file order
+	 * @param charset charset the file is encoded in
+	 * @param strings pool of the load to share field values through
+	 */
+	private ParallelCatalogParser(List<ByteBuffer> chunks, Charset charset, StringPool strings) {
+		this.chunks = chunks;
+		this.charset = charset;
+		this.strings = strings;
+		this.courses = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+		this.reports = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+		this.lines = new int[chunks.size()];
+		this.from = 0;
+		this.to = chunks.size();
+	}
+
+	/**
+	 * Picks a chunk size that gives every worker of the pool several chunks
+	 * 
+	 * @param fileSize    size of the file in bytes
+	 * @param parallelism number of workers in the pool
+	 * @return the chunk size in bytes
+	 */
+	static int chunkSize(long fileSize, int parallelism) {
+		long target = fileSize / ((long) parallelism * CHUNKS_PER_WORKER);
+		return (int) Math.max(MIN_CHUNK_SIZE, Math.min(target, MappedCatalogReader.CHUNK_SIZE));
+	}
+
+	/**
+	 * Parses the chunks on the given pool and merges the results, in file order,
+	 * into the sink
+	 * 
+	 * @param chunks  line aligned chunks of the file, in file order
+	 * @param charset charset the file is encoded in
+	 * @param pool    pool to parse on
+	 * @param strings pool of the load to share field values through
+	 * @param sink    receives each chunk's Courses in file order
+	 * @param report  report to merge each chunk's report into
+	 * @throws IOException if a chunk cannot be decoded
+	 */
+	static void parse(List<ByteBuffer> chunks, Charset charset, ForkJoinPool pool, StringPool strings,
+			List<Course> sink, CourseLoadReport report) throws IOException {
+		ParallelCatalogParser root = new ParallelCatalogParser(chunks, charset, strings);
+		try {
+			pool.invoke(root);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		int lineOffset = 0;
+		for (int i = 0; i < chunks.size(); i++) {
+			sink.addAll(root.courses.get(i));
+			report.append(root.reports.get(i), lineOffset);
+			lineOffset += root.lines[i];
+		}
+	}
+
+	/**
+	 * Parses this task's chunks, splitting the range in half until a single chunk
+	 * is left
+	 */
+	@Override
+	protected void compute() {
+		if (to - from > 1) {
+			int mid = (from + to) >>> 1;
+			ForkJoinTask.invokeAll(new ParallelCatalogParser(this, from, mid),
+					new ParallelCatalogParser(this, mid, to));
+			return;
+		}
+		for (int i = from; i < to; i++) {
+			CourseLoadReport chunkReport = new CourseLoadReport();
+			List<Course> chunkCourses = new ArrayList<>();
+			try (CourseRecordReader reader = new CourseRecordReader(
+					new MappedCatalogReader(Collections.singletonList(chunks.get(i)), charset), strings)) {
+				Course course = reader.next(chunkReport);
+				while (course != null) {
+					chunkCourses.add(course);
+					course = reader.next(chunkReport);
+				}
+				lines[i] = reader.getLineNumber();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			courses.set(i, chunkCourses);
+			reports.set(i, chunkReport);
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Exports many schedules at once on a bounded pool of worker threads. At most a
+ * fixed number of schedules are queued or being written at any time, and the
+ * caller handing over schedules blocks until there is room, so a batch of any
+ * size is exported in bounded memory.
+ * 
+ * Schedules can be exported to a directory, one file per schedule in the same
+ * format as ActivityRecordIO, or to a single archive file. In an archive each
+ * schedule starts with a header line #count,name followed by its count Activity
+ * records. Archive schedules appear in the order they finish.
+ * 
+ * @author Dinesh Karnati
+ */
+public class ScheduleBatchExporter implements AutoCloseable {
+
+	/** Line separator written after each archive header */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Worker threads that write schedules */
+	private final BoundedExecutor executor;
+	/** Writer for each worker thread */
+	private final ThreadLocal<ActivityRecordWriter> writers = ThreadLocal.withInitial(ActivityRecordWriter::new);
+
+	/**
+	 * Constructs an exporter
+	 * 
+	 * @param workers       number of worker threads
+	 * @param queueCapacity number of schedules that can wait for a worker
+	 * @throws IllegalArgumentException if there are no workers or the queue
+	 *                                  capacity is negative
+	 */
+	public ScheduleBatchExporter(int workers, int queueCapacity) {
+		if (workers < 1 || queueCapacity < 0) {
+			throw new IllegalArgumentException("Invalid exporter size.");
+		}
+		this.executor = new BoundedExecutor(workers, queueCapacity);
+	}
+
+	/**
+	 * Exports each schedule to its own file in the directory, named by the
+	 * schedule's name. A schedule that cannot be written, or whose export
+	 * throws, is recorded as failed and does not stop the rest of the batch.
+	 * 
+	 * @param directory directory to write the schedules to
+	 * @param schedules schedules to export
+	 * @return the outcome and throughput of the batch
+	 * @throws InterruptedException if interrupted while waiting for room or for
+	 *                              the batch to finish
+	 */
+	public BatchExportResult exportToDirectory(String directory, Iterable<NamedSchedule> schedules)
+			throws InterruptedException {
+		Path dir = new File(directory).getAbsoluteFile().toPath();
+		BatchExportResult result = new BatchExportResult();
+		long start = System.nanoTime();
+
+		run(schedules, schedule -> {
+			Path file = dir.resolve(schedule.getName()).normalize();
+			try {
+				if (!dir.equals(file.getParent())) {
+					throw new IOException("Schedule name is not a file name: " + schedule.getName());
+				}
+				long bytes = writers.get().write(file.toString(), schedule.getActivities());
+				result.scheduleWritten(schedule.getActivities().size(), bytes);
+			} catch (IOException | RuntimeException e) {
+				result.scheduleFailed(schedule.getName());
+			}
+		});
+
+		result.finished(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Exports every schedule into a single archive file. The archive replaces
+	 * the file only once every schedule has been written.
+	 * 
+	 * @param archiveFile file to write the archive to
+	 * @param schedules   schedules to export
+	 * @return the outcome and throughput of the batch
+	 * @throws IOException          if the archive cannot be written
+	 * @throws InterruptedException if interrupted while waiting for room or for
+	 *                              the batch to finish
+	 */
+	public BatchExportResult exportToArchive(String archiveFile, Iterable<NamedSchedule> schedules)
+			throws IOException, InterruptedException {
+		BatchExportResult result = new BatchExportResult();
+		Charset charset = Charset.defaultCharset();
+		IOException[] failure = new IOException[1];
+		long start = System.nanoTime();
+
+		ActivityRecordWriter.replaceFile(new File(archiveFile).getAbsoluteFile().toPath(), temp -> {
+			try (FileChannel archive = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.WRITE)) {
+				run(schedules, schedule -> {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					try {
+						String header = "#" + schedule.getActivities().size() + "," + schedule.getName()
+								+ LINE_SEPARATOR;
+						bytes.write(header.getBytes(charset));
+						writers.get().write(Channels.newChannel(bytes), schedule.getActivities());
+						ByteBuffer encoded = ByteBuffer.wrap(bytes.toByteArray());
+						synchronized (archive) {
+							while (encoded.hasRemaining()) {
+								archive.write(encoded);
+							}
+						}
+						result.scheduleWritten(schedule.getActivities().size(), bytes.size());
+					} catch (IOException e) {
+						synchronized (failure) {
+							failure[0] = e;
+						}
+						result.scheduleFailed(schedule.getName());
+					} catch (RuntimeException e) {
+						result.scheduleFailed(schedule.getName());
+					}
+				});
+				synchronized (failure) {
+					if (failure[0] != null) {
+						throw failure[0];
+					}
+				}
+				archive.force(false);
+				return archive.size();
+			}
+		});
+
+		result.finished(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Hands each schedule to a worker, blocking while the pool is full, and
+	 * waits for every schedule to be written
+	 * 
+	 * @param schedules schedules to export
+	 * @param task      writes a single schedule
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void run(Iterable<NamedSchedule> schedules, Consumer<NamedSchedule> task) throws InterruptedException {
+		try (BoundedExecutor.Batch batch = executor.newBatch()) {
+			for (NamedSchedule schedule : schedules) {
+				batch.submit(() -> task.accept(schedule));
+			}
+		}
+	}
+
+	/**
+	 * Stops the worker threads once the schedules already handed over are
+	 * written
+	 */
+	@Override
+	public void close() {
+		executor.close();
+	}
+
+}
@@ -0,0 +1,345 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictResult;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Validates many schedules at once on a bounded pool of worker threads,
+ * checking each for conflicting Activities, duplicate Activities and records
+ * that cannot be read. At most a fixed number of schedules are queued or being
+ * checked at any time, so a batch of any size is validated in bounded memory,
+ * and a report for each schedule is handed to the caller as soon as it is
+ * done, in the order schedules finish. A schedule whose validation throws is
+ * still reported, with the failure as its only problem.
+ * 
+ * Each schedule is checked one meeting day at a time with a sweep line: the
+ * day's Activities are visited in order of start, and each one conflicts with
+ * exactly the Activities still running when it starts.
+ * 
+ * Schedules are read from the archive format written by ScheduleBatchExporter,
+ * where each schedule starts with a header line #count,name followed by its
+ * count Activity records in the format of ActivityRecordIO.
+ * 
+ * @author Dinesh Karnati
+ */
+public class ScheduleBatchValidator implements AutoCloseable {
+
+	/** Number of meeting days that can hold timed Activities */
+	private static final int TIMED_DAYS = 7;
+	/** Number of fields in an Event record before its details */
+	private static final int EVENT_FIELDS = 5;
+	/** Number of fields in an arranged Course record */
+	private static final int ARRANGED_COURSE_FIELDS = 6;
+	/** Number of fields in a timed Course record */
+	private static final int COURSE_FIELDS = 8;
+
+	/** Worker threads that validate schedules */
+	private final BoundedExecutor executor;
+
+	/**
+	 * Constructs a validator
+	 * 
+	 * @param workers       number of worker threads
+	 * @param queueCapacity number of schedules that can wait for a worker
+	 * @throws IllegalArgumentException if there are no workers or the queue
+	 *                                  capacity is negative
+	 */
+	public ScheduleBatchValidator(int workers, int queueCapacity) {
+		if (workers < 1 || queueCapacity < 0) {
+			throw new IllegalArgumentException("Invalid validator size.");
+		}
+		this.executor = new BoundedExecutor(workers, queueCapacity);
+	}
+
+	/**
+	 * Validates every schedule in an archive file. Reports are handed over one
+	 * at a time, so the consumer does not need to be thread safe.
+	 * 
+	 * @param archiveFile archive of schedules to validate
+	 * @param reports     receives the report of each schedule as it finishes
+	 * @return the outcome and throughput of the batch
+	 * @throws IOException          if the archive cannot be read or is not in
+	 *                              the archive format
+	 * @throws InterruptedException if interrupted while waiting for room or for
+	 *                              the batch to finish
+	 */
+	public BatchValidationResult validateArchive(String archiveFile, Consumer<ScheduleReport> reports)
+			throws IOException, InterruptedException {
+		BatchValidationResult result = new BatchValidationResult();
+		long start = System.nanoTime();
+		try (BoundedExecutor.Batch batch = executor.newBatch();
+				BufferedReader in = Files.newBufferedReader(new File(archiveFile).toPath(),
+						Charset.defaultCharset())) {
+			int lineNumber = 0;
+			String header = in.readLine();
+			while (header != null) {
+				lineNumber++;
+				int comma = header.indexOf(',');
+				if (!header.startsWith("#") || comma < 0) {
+					throw new IOException("Invalid archive header on line " + lineNumber);
+				}
+				String name = header.substring(comma + 1);
+				int count;
+				try {
+					count = Integer.parseInt(header.substring(1, comma));
+				} catch (NumberFormatException e) {
+					throw new IOException("Invalid archive header on line " + lineNumber);
+				}
+				if (count < 0) {
+					throw new IOException("Invalid archive header on line " + lineNumber);
+				}
+
+				int firstLine = lineNumber + 1;
+				ArrayList<String> records = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					String record = in.readLine();
+					if (record == null) {
+						throw new IOException("Archive ends inside schedule " + name);
+					}
+					records.add(record);
+				}
+				lineNumber += count;
+
+				batch.submit(() -> {
+					ScheduleReport report;
+					try {
+						report = validateRecords(name, records, firstLine);
+					} catch (RuntimeException e) {
+						report = failed(name, e);
+					}
+					deliver(report, records.size(), result, reports);
+				});
+				header = in.readLine();
+			}
+		}
+
+		result.finished(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Validates every schedule in memory. Reports are handed over one at a time,
+	 * so the consumer does not need to be thread safe.
+	 * 
+	 * @param schedules schedules to validate
+	 * @param reports   receives the report of each schedule as it finishes
+	 * @return the outcome and throughput of the batch
+	 * @throws InterruptedException if interrupted while waiting for room or for
+	 *                              the batch to finish
+	 */
+	public BatchValidationResult validate(Iterable<NamedSchedule> schedules, Consumer<ScheduleReport> reports)
+			throws InterruptedException {
+		BatchValidationResult result = new BatchValidationResult();
+		long start = System.nanoTime();
+		try (BoundedExecutor.Batch batch = executor.newBatch()) {
+			for (NamedSchedule schedule : schedules) {
+				batch.submit(() -> {
+					ScheduleReport report;
+					try {
+						report = checkSchedule(schedule.getName(), schedule.getActivities(), new ArrayList<>(0));
+					} catch (RuntimeException e) {
+						report = failed(schedule.getName(), e);
+					}
+					deliver(report, schedule.getActivities().size(), result, reports);
+				});
+			}
+		}
+
+		result.finished(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Records a schedule's report and hands it to the caller, one report at a
+	 * time
+	 * 
+	 * @param report          report of the schedule
+	 * @param scheduleRecords number of records in the schedule
+	 * @param result          outcome of the batch
+	 * @param reports         receives the report
+	 */
+	private static void deliver(ScheduleReport report, int scheduleRecords, BatchValidationResult result,
+			Consumer<ScheduleReport> reports) {
+		result.scheduleValidated(report, scheduleRecords);
+		synchronized (reports) {
+			reports.accept(report);
+		}
+	}
+
+	/**
+	 * Builds the report of a schedule whose validation threw
+	 * 
+	 * @param name    name of the schedule
+	 * @param failure exception thrown while validating
+	 * @return the schedule's report, with the failure as its only problem
+	 */
+	private static ScheduleReport failed(String name, RuntimeException failure) {
+		ArrayList<String> problems = new ArrayList<>(1);
+		problems.add("Validation failed: " + failure);
+		return new ScheduleReport(name, 0, 0, 0, 0, problems);
+	}
+
+	/**
+	 * Reads a schedule's records and validates the Activities read
+	 * 
+	 * @param name      name of the schedule
+	 * @param records   the schedule's Activity records
+	 * @param firstLine line number of the first record in the archive
+	 * @return the schedule's report
+	 */
+	private static ScheduleReport validateRecords(String name, List<String> records, int firstLine) {
+		ArrayList<Activity> activities = new ArrayList<>(records.size());
+		ArrayList<String> invalid = new ArrayList<>(0);
+		for (int i = 0; i < records.size(); i++) {
+			Activity activity = readActivity(records.get(i));
+			if (activity == null) {
+				invalid.add("Invalid record on line " + (firstLine + i) + ": " + records.get(i));
+			} else {
+				activities.add(activity);
+			}
+		}
+		return checkSchedule(name, activities, invalid);
+	}
+
+	/**
+	 * Reads an Activity record. A record with the field count of a Course is
+	 * read as a Course if it is a valid one; any other record with enough fields
+	 * is read as an Event, whose details may hold commas.
+	 * 
+	 * @param record Activity record
+	 * @return the Activity, or null if the record is not a valid Activity
+	 */
+	private static Activity readActivity(String record) {
+		String[] fields = record.split(",", -1);
+		if (fields.length == COURSE_FIELDS || fields.length == ARRANGED_COURSE_FIELDS) {
+			try {
+				int credits = Integer.parseInt(fields[3]);
+				if (fields.length == ARRANGED_COURSE_FIELDS) {
+					return new Course(fields[0], fields[1], fields[2], credits, fields[4], fields[5]);
+				}
+				return new Course(fields[0], fields[1], fields[2], credits, fields[4], fields[5],
+						Integer.parseInt(fields[6]), Integer.parseInt(fields[7]));
+			} catch (IllegalArgumentException e) {
+				// Not a Course, but it may still be an Event
+			}
+		}
+		if (fields.length < EVENT_FIELDS) {
+			return null;
+		}
+		fields = record.split(",", EVENT_FIELDS);
+		try {
+			return new Event(fields[0], fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+					fields[4]);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Validates a schedule's Activities, reporting every conflicting pair once
+	 * with all the days it overlaps on, every Activity that duplicates an
+	 * earlier one, and the given invalid records
+	 * 
+	 * @param name       name of the schedule
+	 * @param activities Activities in the schedule
+	 * @param invalid    descriptions of the records that could not be read
+	 * @return the schedule's report
+	 */
+	private static ScheduleReport checkSchedule(String name, List<? extends Activity> activities,
+			List<String> invalid) {
+		int n = activities.size();
+		ArrayList<String> problems = new ArrayList<>(0);
+
+		HashSet<Long> pairs = new HashSet<>();
+		long[] byStart = new long[n];
+		int[] running = new int[n];
+		for (int d = 0; d < TIMED_DAYS; d++) {
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				Activity a = activities.get(i);
+				if ((a.getDayMask() & (1 << d)) != 0) {
+					byStart[count++] = (long) a.getStartMinute() << Integer.SIZE | i;
+				}
+			}
+			Arrays.sort(byStart, 0, count);
+			int active = 0;
+			for (int k = 0; k < count; k++) {
+				int i = (int) byStart[k];
+				int start = activities.get(i).getStartMinute();
+				int kept = 0;
+				for (int r = 0; r < active; r++) {
+					int j = running[r];
+					if (activities.get(j).getEndMinute() >= start) {
+						running[kept++] = j;
+						pairs.add((long) Math.min(i, j) * n + Math.max(i, j));
+					}
+				}
+				running[kept] = i;
+				active = kept + 1;
+			}
+		}
+		Long[] sortedPairs = pairs.toArray(new Long[pairs.size()]);
+		Arrays.sort(sortedPairs);
+		for (long pair : sortedPairs) {
+			Activity first = activities.get((int) (pair / n));
+			Activity second = activities.get((int) (pair % n));
+			ConflictResult conflict = first.findConflict(second);
+			problems.add(label(first) + " conflicts with " + label(second) + " on " + conflict.getMeetingString());
+		}
+
+		HashSet<String> courseNames = new HashSet<>();
+		HashSet<String> eventTitles = new HashSet<>();
+		int duplicates = 0;
+		for (Activity a : activities) {
+			boolean added = a instanceof Course ? courseNames.add(((Course) a).getName())
+					: eventTitles.add(a.getTitle());
+			if (!added) {
+				duplicates++;
+				problems.add(label(a) + " duplicates an earlier activity");
+			}
+		}
+
+		problems.addAll(invalid);
+		return new ScheduleReport(name, n, sortedPairs.length, duplicates, invalid.size(), problems);
+	}
+
+	/**
+	 * Names an Activity in a problem description: a Course by its name and
+	 * section, an Event by its title
+	 * 
+	 * @param a Activity to name
+	 * @return the Activity's label
+	 */
+	private static String label(Activity a) {
+		if (a instanceof Course) {
+			return ((Course) a).getName() + "-" + ((Course) a).getSection();
+		}
+		return a.getTitle();
+	}
+
+	/**
+	 * Stops the worker threads once the schedules already handed over are
+	 * validated
+	 */
+	@Override
+	public void close() {
+		executor.close();
+	}
+
+}
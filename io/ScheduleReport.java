@@ -0,0 +1,125 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating one schedule: the conflicts, duplicates and unreadable
+ * records found in it, each described in a line of text
+ * 
+ * @author Dinesh Karnati
+ */
+public class ScheduleReport {
+
+	/** Name of the schedule, such as a student's id */
+	private final String name;
+	/** Number of Activities read from the schedule */
+	private final int activities;
+	/** Number of conflicting pairs of Activities */
+	private final int conflicts;
+	/** Number of Activities that duplicate an earlier one */
+	private final int duplicates;
+	/** Number of records that could not be read as an Activity */
+	private final int invalidRecords;
+	/** Description of each problem found */
+	private final List<String> problems;
+
+	/**
+	 * Constructs a report
+	 * 
+	 * @param name           name of the schedule
+	 * @param activities     number of Activities read from the schedule
+	 * @param conflicts      number of conflicting pairs of Activities
+	 * @param duplicates     number of Activities that duplicate an earlier one
+	 * @param invalidRecords number of records that could not be read
+	 * @param problems       description of each problem found
+	 */
+	ScheduleReport(String name, int activities, int conflicts, int duplicates, int invalidRecords,
+			List<String> problems) {
+		this.name = name;
+		this.activities = activities;
+		this.conflicts = conflicts;
+		this.duplicates = duplicates;
+		this.invalidRecords = invalidRecords;
+		this.problems = Collections.unmodifiableList(problems);
+	}
+
+	/**
+	 * Gets the name of the schedule
+	 * 
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the number of Activities read from the schedule
+	 * 
+	 * @return the number of Activities
+	 */
+	public int getActivities() {
+		return activities;
+	}
+
+	/**
+	 * Gets the number of conflicting pairs of Activities
+	 * 
+	 * @return the number of conflicts
+	 */
+	public int getConflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * Gets the number of Activities that duplicate an earlier one
+	 * 
+	 * @return the number of duplicates
+	 */
+	public int getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the number of records that could not be read as an Activity
+	 * 
+	 * @return the number of invalid records
+	 */
+	public int getInvalidRecords() {
+		return invalidRecords;
+	}
+
+	/**
+	 * Gets the description of each problem found, in the order conflicts,
+	 * duplicates and invalid records
+	 * 
+	 * @return an unmodifiable list of the problems
+	 */
+	public List<String> getProblems() {
+		return problems;
+	}
+
+	/**
+	 * Checks whether the schedule had no problems
+	 * 
+	 * @return true if no problems were found
+	 */
+	public boolean isValid() {
+		return problems.isEmpty();
+	}
+
+	/**
+	 * Returns the report as a string
+	 * 
+	 * @return a summary of the schedule's problems
+	 */
+	@Override
+	public String toString() {
+		return name + ": activities: " + activities + ", conflicts: " + conflicts + ", duplicates: " + duplicates
+				+ ", invalid records: " + invalidRecords;
+	}
+
+}
@@ -0,0 +1,280 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Indexes the rows of a catalog store so a CatalogQuery can be answered
+ * without looking at every row. Each meeting day and each credit value has a
+ * bit set of its rows, timed rows are kept sorted by start and by end so a
+ * time window is found by binary search, and each instructor has the list of
+ * their rows. A query intersects the bit sets of its filters.
+ * 
+ * To find the sections that fit a schedule, the index also keeps the timed
+ * rows of each meeting day in a TimedDays, so only the slice of a day that can
+ * overlap a scheduled meeting is checked.
+ * 
+ * @author Dinesh Karnati
+ */
+final class CatalogIndex {
+
+	/** Number of day mask bits, including arranged */
+	private static final int DAY_BITS = 8;
+	/** Bits to shift a time by to pack it above a row number */
+	private static final int TIME_SHIFT = 32;
+	/** Mask of the row number in a packed time and row */
+	private static final long ROW_MASK = 0xFFFFFFFFL;
+
+	/** Number of rows in the store */
+	private final int size;
+	/** Rows meeting on each day, indexed by day bit position */
+	private final BitSet[] dayRows = new BitSet[DAY_BITS];
+	/** Rows with each credit value */
+	private final HashMap<Integer, BitSet> creditRows = new HashMap<>();
+	/** Timed rows ordered by start */
+	private final int[] rowsByStart;
+	/** Start of each row in rowsByStart, in minutes since midnight */
+	private final int[] starts;
+	/** Timed rows ordered by end */
+	private final int[] rowsByEnd;
+	/** End of each row in rowsByEnd, in minutes since midnight */
+	private final int[] ends;
+	/** Rows taught by each instructor */
+	private final HashMap<String, int[]> instructorRows;
+	/** Rows of each course name */
+	private final HashMap<String, int[]> nameRows;
+	/** Timed rows of each meeting day, ordered by start */
+	private final TimedDays timedDays;
+
+	/**
+	 * Indexes the rows of a store
+	 * 
+	 * @param store store to index
+	 */
+	CatalogIndex(CatalogStore store) {
+		size = store.size();
+		for (int d = 0; d < DAY_BITS; d++) {
+			dayRows[d] = new BitSet(size);
+		}
+
+		long[] byStart = new long[size];
+		long[] byEnd = new long[size];
+		int timed = 0;
+		HashMap<String, ArrayList<Integer>> instructors = new HashMap<>();
+		HashMap<String, ArrayList<Integer>> names = new HashMap<>();
+		for (int row = 0; row < size; row++) {
+			int mask = store.getDayMask(row);
+			for (int d = 0; d < DAY_BITS; d++) {
+				if ((mask & (1 << d)) != 0) {
+					dayRows[d].set(row);
+				}
+			}
+			creditRows.computeIfAbsent(store.getCredits(row), k -> new BitSet(size)).set(row);
+			instructors.computeIfAbsent(store.getInstructorId(row), k -> new ArrayList<>()).add(row);
+			names.computeIfAbsent(store.getName(row), k -> new ArrayList<>()).add(row);
+			if (mask != Activity.ARRANGED) {
+				byStart[timed] = (long) store.getStartMinute(row) << TIME_SHIFT | row;
+				byEnd[timed] = (long) store.getEndMinute(row) << TIME_SHIFT | row;
+				timed++;
+			}
+		}
+
+		Arrays.sort(byStart, 0, timed);
+		Arrays.sort(byEnd, 0, timed);
+		rowsByStart = new int[timed];
+		starts = new int[timed];
+		rowsByEnd = new int[timed];
+		ends = new int[timed];
+		for (int i = 0; i < timed; i++) {
+			rowsByStart[i] = (int) (byStart[i] & ROW_MASK);
+			starts[i] = (int) (byStart[i] >>> TIME_SHIFT);
+			rowsByEnd[i] = (int) (byEnd[i] & ROW_MASK);
+			ends[i] = (int) (byEnd[i] >>> TIME_SHIFT);
+		}
+
+		timedDays = new TimedDays(store);
+		instructorRows = toRowArrays(instructors);
+		nameRows = toRowArrays(names);
+	}
+
+	/**
+	 * Turns lists of row numbers into arrays
+	 * 
+	 * @param lists row numbers by key
+	 * @return the row numbers by key
+	 */
+	private static HashMap<String, int[]> toRowArrays(HashMap<String, ArrayList<Integer>> lists) {
+		HashMap<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+		for (HashMap.Entry<String, ArrayList<Integer>> e : lists.entrySet()) {
+			int[] rows = new int[e.getValue().size()];
+			for (int i = 0; i < rows.length; i++) {
+				rows[i] = e.getValue().get(i);
+			}
+			arrays.put(e.getKey(), rows);
+		}
+		return arrays;
+	}
+
+	/**
+	 * Gets the timed rows of each meeting day
+	 * 
+	 * @return the rows of each day, ordered by start
+	 */
+	TimedDays getTimedDays() {
+		return timedDays;
+	}
+
+	/**
+	 * Finds the rows that match a query
+	 * 
+	 * @param query query to answer
+	 * @return the matching rows
+	 */
+	BitSet find(CatalogQuery query) {
+		BitSet rows;
+		if (query.getInstructorId() != null) {
+			rows = toBitSet(instructorRows.get(query.getInstructorId()));
+		} else if (query.getCredits() != -1) {
+			rows = copy(creditRows.get(query.getCredits()));
+		} else {
+			rows = new BitSet(size);
+			rows.set(0, size);
+		}
+
+		if (query.getInstructorId() != null && query.getCredits() != -1) {
+			BitSet credits = creditRows.get(query.getCredits());
+			if (credits == null) {
+				return new BitSet();
+			}
+			rows.and(credits);
+		}
+
+		if (query.getMinStartMinute() != -1) {
+			int from = TimedDays.lowerBound(starts, query.getMinStartMinute());
+			rows.and(toBitSet(rowsByStart, from, rowsByStart.length));
+		}
+		if (query.getMaxEndMinute() != -1) {
+			int to = TimedDays.lowerBound(ends, query.getMaxEndMinute() + 1);
+			rows.and(toBitSet(rowsByEnd, 0, to));
+		}
+
+		for (int d = 0; d < DAY_BITS; d++) {
+			if ((query.getRequiredDays() & (1 << d)) != 0) {
+				rows.and(dayRows[d]);
+			}
+			if ((query.getExcludedDays() & (1 << d)) != 0) {
+				rows.andNot(dayRows[d]);
+			}
+		}
+
+		for (String instructorId : query.getExcludedInstructorIds()) {
+			int[] excluded = instructorRows.get(instructorId);
+			if (excluded != null) {
+				for (int row : excluded) {
+					rows.clear(row);
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Finds the rows that could be added alongside the given activities: rows
+	 * that share a name with none of the Courses and overlap none of the
+	 * activities' meetings. An activity that is a row of the catalog has its
+	 * conflicts read from the conflict matrix when one is given; any other
+	 * activity is looked up by its meeting times.
+	 * 
+	 * @param activities activities already scheduled
+	 * @param matrix     conflict matrix of the catalog, or null to look up every
+	 *                   activity by its meeting times
+	 * @param rows       catalog row of each activity, or -1 for one that is not
+	 *                   a row; ignored if the matrix is null
+	 * @return the rows that fit
+	 */
+	BitSet findCompatible(List<? extends Activity> activities, ConflictMatrix matrix, int[] rows) {
+		BitSet fit = new BitSet(size);
+		fit.set(0, size);
+		for (int a = 0; a < activities.size(); a++) {
+			Activity activity = activities.get(a);
+			if (activity instanceof Course) {
+				int[] sameName = nameRows.get(((Course) activity).getName());
+				if (sameName != null) {
+					for (int row : sameName) {
+						fit.clear(row);
+					}
+				}
+			}
+
+			if (matrix != null && rows[a] >= 0) {
+				for (int row : matrix.getConflicts(rows[a])) {
+					fit.clear(row);
+				}
+				continue;
+			}
+			int mask = activity.getDayMask();
+			int start = activity.getStartMinute();
+			int end = activity.getEndMinute();
+			for (int d = 0; d < TimedDays.TIMED_DAYS; d++) {
+				if ((mask & (1 << d)) == 0) {
+					continue;
+				}
+				int[] dayRows = timedDays.getRows(d);
+				int[] dayEnds = timedDays.getEnds(d);
+				int to = timedDays.candidatesTo(d, end);
+				for (int i = timedDays.candidatesFrom(d, start); i < to; i++) {
+					if (dayEnds[i] >= start) {
+						fit.clear(dayRows[i]);
+					}
+				}
+			}
+		}
+		return fit;
+	}
+
+	/**
+	 * Copies a bit set
+	 * 
+	 * @param bits bit set to copy, may be null
+	 * @return a copy, or an empty bit set if the bit set is null
+	 */
+	private static BitSet copy(BitSet bits) {
+		return bits == null ? new BitSet() : (BitSet) bits.clone();
+	}
+
+	/**
+	 * Makes a bit set of a list of rows
+	 * 
+	 * @param rows rows to set, may be null
+	 * @return the bit set, empty if the rows are null
+	 */
+	private static BitSet toBitSet(int[] rows) {
+		return rows == null ? new BitSet() : toBitSet(rows, 0, rows.length);
+	}
+
+	/**
+	 * Makes a bit set of part of a list of rows
+	 * 
+	 * @param rows rows to set
+	 * @param from index of the first row to set
+	 * @param to   index just past the last row to set
+	 * @return the bit set
+	 */
+	private static BitSet toBitSet(int[] rows, int from, int to) {
+		BitSet bits = new BitSet();
+		for (int i = from; i < to; i++) {
+			bits.set(rows[i]);
+		}
+		return bits;
+	}
+
+}
@@ -0,0 +1,248 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Filters for finding sections in a course catalog, such as every 3 credit
+ * section that is free on Friday, starts at or after 10:00 and is not taught by
+ * a given instructor. Filters are added by chaining, and a section must pass
+ * every filter added to match. A query with no filters matches the whole
+ * catalog. Day and instructor exclusions add up; any other filter replaces an
+ * earlier filter of the same kind.
+ * 
+ * Arranged sections have no meeting time, so they never match a filter on
+ * start or end time.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class CatalogQuery {
+
+	/** Latest valid military time */
+	private static final int LAST_TIME = 2359;
+
+	/** Days a section must meet on, as a day mask */
+	private int requiredDays;
+	/** Days a section must not meet on, as a day mask */
+	private int excludedDays;
+	/** Earliest start a section may have in minutes since midnight, or -1 for any */
+	private int minStartMinute = -1;
+	/** Latest end a section may have in minutes since midnight, or -1 for any */
+	private int maxEndMinute = -1;
+	/** Credits a section must have, or -1 for any */
+	private int credits = -1;
+	/** Instructor who must teach a section, or null for any */
+	private String instructorId;
+	/** Instructors who must not teach a section */
+	private final Set<String> excludedInstructorIds = new LinkedHashSet<>();
+
+	/**
+	 * Only matches sections that meet on every one of the given days
+	 * 
+	 * @param days meeting days, e.g. "MW"
+	 * @return this query
+	 * @throws IllegalArgumentException if the days are null, empty or contain
+	 *                                  something other than meeting days
+	 */
+	public CatalogQuery meetsOn(String days) {
+		requiredDays |= toDayMask(days);
+		return this;
+	}
+
+	/**
+	 * Only matches sections that meet on none of the given days
+	 * 
+	 * @param days meeting days, e.g. "F"
+	 * @return this query
+	 * @throws IllegalArgumentException if the days are null, empty or contain
+	 *                                  something other than meeting days
+	 */
+	public CatalogQuery freeOn(String days) {
+		excludedDays |= toDayMask(days);
+		return this;
+	}
+
+	/**
+	 * Only matches sections that start at or after the given time
+	 * 
+	 * @param time military time, e.g. 1000
+	 * @return this query
+	 * @throws IllegalArgumentException if the time is not a valid military time
+	 */
+	public CatalogQuery startsAtOrAfter(int time) {
+		minStartMinute = checkedMinutes(time);
+		return this;
+	}
+
+	/**
+	 * Only matches sections that end at or before the given time
+	 * 
+	 * @param time military time, e.g. 1500
+	 * @return this query
+	 * @throws IllegalArgumentException if the time is not a valid military time
+	 */
+	public CatalogQuery endsAtOrBefore(int time) {
+		maxEndMinute = checkedMinutes(time);
+		return this;
+	}
+
+	/**
+	 * Only matches sections worth the given number of credits
+	 * 
+	 * @param credits credit hours
+	 * @return this query
+	 * @throws IllegalArgumentException if the credits are negative
+	 */
+	public CatalogQuery withCredits(int credits) {
+		if (credits < 0) {
+			throw new IllegalArgumentException("Invalid credits.");
+		}
+		this.credits = credits;
+		return this;
+	}
+
+	/**
+	 * Removes the filter on credits, so sections match whatever their credits
+	 * 
+	 * @return this query
+	 */
+	public CatalogQuery anyCredits() {
+		this.credits = -1;
+		return this;
+	}
+
+	/**
+	 * Only matches sections taught by the given instructor
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return this query
+	 * @throws IllegalArgumentException if the instructor id is null
+	 */
+	public CatalogQuery taughtBy(String instructorId) {
+		if (instructorId == null) {
+			throw new IllegalArgumentException("Invalid instructor id.");
+		}
+		this.instructorId = instructorId;
+		return this;
+	}
+
+	/**
+	 * Only matches sections not taught by the given instructor, in addition to
+	 * any instructors excluded earlier
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return this query
+	 * @throws IllegalArgumentException if the instructor id is null
+	 */
+	public CatalogQuery notTaughtBy(String instructorId) {
+		if (instructorId == null) {
+			throw new IllegalArgumentException("Invalid instructor id.");
+		}
+		excludedInstructorIds.add(instructorId);
+		return this;
+	}
+
+	/**
+	 * Converts meeting days to a day mask, rejecting anything that is not a
+	 * meeting day
+	 * 
+	 * @param days meeting days
+	 * @return the day mask
+	 * @throws IllegalArgumentException if the days are null, empty or invalid
+	 */
+	private static int toDayMask(String days) {
+		if (days == null || days.length() == 0) {
+			throw new IllegalArgumentException("Invalid meeting days.");
+		}
+		for (int i = 0; i < days.length(); i++) {
+			if (Activity.dayBit(days.charAt(i)) == 0) {
+				throw new IllegalArgumentException("Invalid meeting days.");
+			}
+		}
+		return Activity.toDayMask(days);
+	}
+
+	/**
+	 * Checks a military time and converts it to minutes since midnight
+	 * 
+	 * @param time military time
+	 * @return the minutes since midnight
+	 * @throws IllegalArgumentException if the time is not a valid military time
+	 */
+	private static int checkedMinutes(int time) {
+		if (time < 0 || time > LAST_TIME || time % 100 >= Activity.MINUTES_PER_HOUR) {
+			throw new IllegalArgumentException("Invalid time.");
+		}
+		return Activity.toMinutes(time);
+	}
+
+	/**
+	 * Gets the days a section must meet on
+	 * 
+	 * @return the required day mask
+	 */
+	int getRequiredDays() {
+		return requiredDays;
+	}
+
+	/**
+	 * Gets the days a section must not meet on
+	 * 
+	 * @return the excluded day mask
+	 */
+	int getExcludedDays() {
+		return excludedDays;
+	}
+
+	/**
+	 * Gets the earliest start a section may have
+	 * 
+	 * @return the start in minutes since midnight, or -1 for any
+	 */
+	int getMinStartMinute() {
+		return minStartMinute;
+	}
+
+	/**
+	 * Gets the latest end a section may have
+	 * 
+	 * @return the end in minutes since midnight, or -1 for any
+	 */
+	int getMaxEndMinute() {
+		return maxEndMinute;
+	}
+
+	/**
+	 * Gets the credits a section must have
+	 * 
+	 * @return the credits, or -1 for any
+	 */
+	int getCredits() {
+		return credits;
+	}
+
+	/**
+	 * Gets the instructor who must teach a section
+	 * 
+	 * @return the instructor id, or null for any
+	 */
+	String getInstructorId() {
+		return instructorId;
+	}
+
+	/**
+	 * Gets the instructors who must not teach a section
+	 * 
+	 * @return an unmodifiable set of the excluded instructor ids, empty for none
+	 */
+	Set<String> getExcludedInstructorIds() {
+		return Collections.unmodifiableSet(excludedInstructorIds);
+	}
+
+}
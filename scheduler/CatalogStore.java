@@ -0,0 +1,124 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Holds the rows of a course catalog. Each row is one Course, and its fields can
+ * be read without materializing the Course, so a store is free to keep its rows
+ * in whatever layout suits it. Rows are numbered from 0 in catalog order. A
+ * store never changes once built and can be shared between threads.
+ * 
+ * @author Dinesh Karnati
+ */
+public interface CatalogStore {
+
+	/**
+	 * Gets the number of rows in the store
+	 * 
+	 * @return the number of rows
+	 */
+	int size();
+
+	/**
+	 * Gets the Course in a row. Asking for the same row again returns the same
+	 * Course, which is read only.
+	 * 
+	 * @param row row number
+	 * @return the row's Course
+	 * @throws IndexOutOfBoundsException if there is no such row
+	 */
+	Course get(int row);
+
+	/**
+	 * Gets the name of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's name
+	 */
+	String getName(int row);
+
+	/**
+	 * Gets the title of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's title
+	 */
+	String getTitle(int row);
+
+	/**
+	 * Gets the section of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's section
+	 */
+	String getSection(int row);
+
+	/**
+	 * Gets the credits of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's credits
+	 */
+	int getCredits(int row);
+
+	/**
+	 * Gets the instructor id of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's instructor id
+	 */
+	String getInstructorId(int row);
+
+	/**
+	 * Gets the meeting days of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's meeting days
+	 */
+	String getMeetingDays(int row);
+
+	/**
+	 * Gets the start time of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's start time
+	 */
+	int getStartTime(int row);
+
+	/**
+	 * Gets the end time of the Course in a row
+	 * 
+	 * @param row row number
+	 * @return the Course's end time
+	 */
+	int getEndTime(int row);
+
+	/**
+	 * Gets the start of the Course in a row in minutes since midnight
+	 * 
+	 * @param row row number
+	 * @return the Course's start minute
+	 */
+	int getStartMinute(int row);
+
+	/**
+	 * Gets the end of the Course in a row in minutes since midnight
+	 * 
+	 * @param row row number
+	 * @return the Course's end minute
+	 */
+	int getEndMinute(int row);
+
+	/**
+	 * Gets the meeting days of the Course in a row as a mask of the Activity day
+	 * bits
+	 * 
+	 * @param row row number
+	 * @return the Course's day mask
+	 */
+	int getDayMask(int row);
+
+}
@@ -0,0 +1,212 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A catalog store that keeps its rows in columns instead of Course objects.
+ * Credits, times and day masks are held in primitive arrays, and the string
+ * fields are dictionary encoded: each distinct string is stored once and rows
+ * hold its id. A row's Course is only created the first time it is asked for,
+ * so a large catalog that is mostly scanned and filtered never pays for the
+ * objects it does not hand out.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ColumnarCatalogStore implements CatalogStore {
+
+	/** Distinct strings of the store, indexed by id */
+	private final String[] dictionary;
+	/** Dictionary id of each row's name */
+	private final int[] names;
+	/** Dictionary id of each row's title */
+	private final int[] titles;
+	/** Dictionary id of each row's section */
+	private final int[] sections;
+	/** Dictionary id of each row's instructor id */
+	private final int[] instructors;
+	/** Dictionary id of each row's meeting days */
+	private final int[] meetingDays;
+	/** Credits of each row */
+	private final byte[] credits;
+	/** Start time of each row */
+	private final short[] startTimes;
+	/** End time of each row */
+	private final short[] endTimes;
+	/** Day mask of each row, whose bits all fit in a byte */
+	private final byte[] dayMasks;
+	/** Course of each row, or null until it is first asked for */
+	private final AtomicReferenceArray<Course> materialized;
+
+	/**
+	 * Constructs a store holding the given Courses, in the given order
+	 * 
+	 * @param courses Courses in the store
+	 */
+	public ColumnarCatalogStore(List<Course> courses) {
+		int n = courses.size();
+		names = new int[n];
+		titles = new int[n];
+		sections = new int[n];
+		instructors = new int[n];
+		meetingDays = new int[n];
+		credits = new byte[n];
+		startTimes = new short[n];
+		endTimes = new short[n];
+		dayMasks = new byte[n];
+		materialized = new AtomicReferenceArray<>(n);
+
+		HashMap<String, Integer> ids = new HashMap<>();
+		ArrayList<String> strings = new ArrayList<>();
+		for (int row = 0; row < n; row++) {
+			Course c = courses.get(row);
+			names[row] = id(c.getName(), ids, strings);
+			titles[row] = id(c.getTitle(), ids, strings);
+			sections[row] = id(c.getSection(), ids, strings);
+			instructors[row] = id(c.getInstructorId(), ids, strings);
+			meetingDays[row] = id(c.getMeetingDays(), ids, strings);
+			credits[row] = (byte) c.getCredits();
+			startTimes[row] = (short) c.getStartTime();
+			endTimes[row] = (short) c.getEndTime();
+			dayMasks[row] = (byte) c.getDayMask();
+		}
+		dictionary = strings.toArray(new String[strings.size()]);
+	}
+
+	/**
+	 * Gets the dictionary id of a string, giving it the next id if it has none
+	 * 
+	 * @param s       string to look up
+	 * @param ids     id of each string seen so far
+	 * @param strings strings seen so far in id order
+	 * @return the string's id
+	 */
+	private static int id(String s, HashMap<String, Integer> ids, ArrayList<String> strings) {
+		Integer id = ids.get(s);
+		if (id == null) {
+			id = strings.size();
+			ids.put(s, id);
+			strings.add(s);
+		}
+		return id;
+	}
+
+	@Override
+	public int size() {
+		return names.length;
+	}
+
+	@Override
+	public Course get(int row) {
+		Course c = materialized.get(row);
+		if (c == null) {
+			c = Course.fromValidated(getName(row), getTitle(row), getSection(row), getCredits(row),
+					getInstructorId(row), getMeetingDays(row), getStartTime(row), getEndTime(row));
+			c.makeReadOnly();
+			if (!materialized.compareAndSet(row, null, c)) {
+				c = materialized.get(row);
+			}
+		}
+		return c;
+	}
+
+	@Override
+	public String getName(int row) {
+		return dictionary[names[row]];
+	}
+
+	@Override
+	public String getTitle(int row) {
+		return dictionary[titles[row]];
+	}
+
+	@Override
+	public String getSection(int row) {
+		return dictionary[sections[row]];
+	}
+
+	@Override
+	public int getCredits(int row) {
+		return credits[row];
+	}
+
+	@Override
+	public String getInstructorId(int row) {
+		return dictionary[instructors[row]];
+	}
+
+	@Override
+	public String getMeetingDays(int row) {
+		return dictionary[meetingDays[row]];
+	}
+
+	@Override
+	public int getStartTime(int row) {
+		return startTimes[row];
+	}
+
+	@Override
+	public int getEndTime(int row) {
+		return endTimes[row];
+	}
+
+	@Override
+	public int getStartMinute(int row) {
+		return Activity.toMinutes(startTimes[row]);
+	}
+
+	@Override
+	public int getEndMinute(int row) {
+		return Activity.toMinutes(endTimes[row]);
+	}
+
+	@Override
+	public int getDayMask(int row) {
+		return dayMasks[row] & 0xFF;
+	}
+
+	/**
+	 * Finds the rows with the given credits that meet on exactly the given days,
+	 * scanning only the credit and day mask columns
+	 * 
+	 * @param credits credits to match
+	 * @param dayMask day mask to match, e.g. Activity.MONDAY | Activity.WEDNESDAY
+	 * @return the matching row numbers in catalog order
+	 */
+	public int[] findRows(int credits, int dayMask) {
+		int[] rows = new int[names.length];
+		int found = 0;
+		for (int row = 0; row < rows.length; row++) {
+			if (this.credits[row] == credits && (dayMasks[row] & 0xFF) == dayMask) {
+				rows[found++] = row;
+			}
+		}
+		int[] result = new int[found];
+		System.arraycopy(rows, 0, result, 0, found);
+		return result;
+	}
+
+	/**
+	 * Gets the number of Courses that have been materialized so far
+	 * 
+	 * @return the number of materialized Courses
+	 */
+	public int getMaterializedCount() {
+		int count = 0;
+		for (int row = 0; row < materialized.length(); row++) {
+			if (materialized.get(row) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,251 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Every pair of rows in a catalog store that conflict, meaning they meet on a
+ * common day at overlapping times, the rule Activity.conflictsWith applies.
+ * Each row's conflicting rows are kept sorted in one shared array, with an
+ * offset array marking where each row's run starts, so the rows that conflict
+ * with a row are read in O(k) and a single pair is checked by binary search
+ * over the row's run.
+ * 
+ * The matrix is built in parallel on the common fork-join pool. Rows are
+ * looked up through the TimedDays of the store, so finding a row's conflicts
+ * only looks at the rows that start close enough to overlap it.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ConflictMatrix {
+
+	/** Bytes taken by an int in an array */
+	private static final int INT_BYTES = Integer.BYTES;
+
+	/** Where each row's conflicts start in neighbors, plus the total at the end */
+	private final int[] offsets;
+	/** Conflicting rows of every row, each row's run sorted */
+	private final int[] neighbors;
+	/** Time taken to build the matrix, in nanoseconds */
+	private final long buildNanos;
+
+	/**
+	 * Builds the conflict matrix of a store
+	 * 
+	 * @param store store whose rows are compared
+	 * @throws IllegalArgumentException if the store is null
+	 * @throws IllegalStateException    if the store has more conflicting pairs
+	 *                                  than an array can hold
+	 */
+	public ConflictMatrix(CatalogStore store) {
+		this(store, null);
+	}
+
+	/**
+	 * Builds the conflict matrix of a store, reusing the store's timed rows if
+	 * they have already been sorted
+	 * 
+	 * @param store     store whose rows are compared
+	 * @param timedDays timed rows of each day of the store, or null to sort them
+	 * @throws IllegalArgumentException if the store is null
+	 * @throws IllegalStateException    if the store has more conflicting pairs
+	 *                                  than an array can hold
+	 */
+	ConflictMatrix(CatalogStore store, TimedDays timedDays) {
+		if (store == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		long start = System.nanoTime();
+		TimedDays days = timedDays != null ? timedDays : new TimedDays(store);
+		int[][] rows = new int[store.size()][];
+		ForkJoinPool.commonPool().invoke(new Build(store, days, rows, 0, rows.length));
+
+		offsets = new int[rows.length + 1];
+		long total = 0;
+		for (int row = 0; row < rows.length; row++) {
+			offsets[row] = (int) total;
+			total += rows[row].length;
+			if (total > Integer.MAX_VALUE) {
+				throw new IllegalStateException("Too many conflicts.");
+			}
+		}
+		offsets[rows.length] = (int) total;
+		neighbors = new int[(int) total];
+		for (int row = 0; row < rows.length; row++) {
+			System.arraycopy(rows[row], 0, neighbors, offsets[row], rows[row].length);
+		}
+		buildNanos = System.nanoTime() - start;
+	}
+
+	/**
+	 * Gets the number of rows in the matrix
+	 * 
+	 * @return the number of rows
+	 */
+	public int size() {
+		return offsets.length - 1;
+	}
+
+	/**
+	 * Checks whether two rows conflict
+	 * 
+	 * @param row   first row
+	 * @param other second row
+	 * @return true if the rows conflict
+	 * @throws IndexOutOfBoundsException if either row does not exist
+	 */
+	public boolean conflicts(int row, int other) {
+		if (other < 0 || other >= size()) {
+			throw new IndexOutOfBoundsException("Invalid row: " + other);
+		}
+		return Arrays.binarySearch(neighbors, offsets[row], offsets[row + 1], other) >= 0;
+	}
+
+	/**
+	 * Gets the rows that conflict with a row
+	 * 
+	 * @param row row to look up
+	 * @return the conflicting rows in catalog order
+	 * @throws IndexOutOfBoundsException if the row does not exist
+	 */
+	public int[] getConflicts(int row) {
+		return Arrays.copyOfRange(neighbors, offsets[row], offsets[row + 1]);
+	}
+
+	/**
+	 * Gets the number of rows that conflict with a row
+	 * 
+	 * @param row row to look up
+	 * @return the number of conflicting rows
+	 * @throws IndexOutOfBoundsException if the row does not exist
+	 */
+	public int getConflictCount(int row) {
+		return offsets[row + 1] - offsets[row];
+	}
+
+	/**
+	 * Gets the number of conflicting pairs of rows
+	 * 
+	 * @return the number of pairs
+	 */
+	public long getPairCount() {
+		return neighbors.length / 2;
+	}
+
+	/**
+	 * Gets the memory taken by the matrix's arrays
+	 * 
+	 * @return the size of the arrays in bytes
+	 */
+	public long getMemoryBytes() {
+		return (long) (offsets.length + neighbors.length) * INT_BYTES;
+	}
+
+	/**
+	 * Gets the time taken to build the matrix
+	 * 
+	 * @return the build time in nanoseconds
+	 */
+	public long getBuildNanos() {
+		return buildNanos;
+	}
+
+	/**
+	 * Returns the matrix's size, memory and build time as a string
+	 * 
+	 * @return a summary of the matrix
+	 */
+	@Override
+	public String toString() {
+		return "Sections: " + size() + ", conflicting pairs: " + getPairCount() + ", memory: "
+				+ getMemoryBytes() + " bytes, build time: " + buildNanos / 1_000_000 + " ms";
+	}
+
+	/**
+	 * Finds the conflicting rows of a range of rows, splitting the range in half
+	 * until it is small enough to work through directly
+	 */
+	private static final class Build extends RecursiveAction {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Most rows a task works through without splitting */
+		private static final int ROWS_PER_TASK = 512;
+
+		/** Store whose rows are compared */
+		private final transient CatalogStore store;
+		/** Timed rows of each day */
+		private final transient TimedDays days;
+		/** Receives each row's sorted conflicting rows */
+		private final int[][] result;
+		/** First row of the range */
+		private final int from;
+		/** Row just past the end of the range */
+		private final int to;
+
+		/**
+		 * Constructs a task for rows from through to - 1
+		 * 
+		 * @param store  store whose rows are compared
+		 * @param days   timed rows of each day
+		 * @param result receives each row's sorted conflicting rows
+		 * @param from   first row of the range
+		 * @param to     row just past the end of the range
+		 */
+		Build(CatalogStore store, TimedDays days, int[][] result, int from, int to) {
+			this.store = store;
+			this.days = days;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > ROWS_PER_TASK) {
+				int mid = (from + to) >>> 1;
+				ForkJoinTask.invokeAll(new Build(store, days, result, from, mid),
+						new Build(store, days, result, mid, to));
+				return;
+			}
+			int[] found = new int[16];
+			for (int row = from; row < to; row++) {
+				int mask = store.getDayMask(row);
+				int start = store.getStartMinute(row);
+				int end = store.getEndMinute(row);
+				int count = 0;
+				for (int d = 0; d < TimedDays.TIMED_DAYS; d++) {
+					if ((mask & (1 << d)) == 0) {
+						continue;
+					}
+					int[] dayRows = days.getRows(d);
+					int[] dayEnds = days.getEnds(d);
+					int last = days.candidatesTo(d, end);
+					for (int i = days.candidatesFrom(d, start); i < last; i++) {
+						if (dayEnds[i] >= start && dayRows[i] != row) {
+							if (count == found.length) {
+								found = Arrays.copyOf(found, count * 2);
+							}
+							found[count++] = dayRows[i];
+						}
+					}
+				}
+				Arrays.sort(found, 0, count);
+				int distinct = 0;
+				for (int i = 0; i < count; i++) {
+					if (distinct == 0 || found[distinct - 1] != found[i]) {
+						found[distinct++] = found[i];
+					}
+				}
+				result[row] = Arrays.copyOf(found, distinct);
+			}
+		}
+
+	}
+
+}
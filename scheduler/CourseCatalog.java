@@ -0,0 +1,478 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * An immutable catalog of Courses, indexed by name and section, by name and by
+ * instructor. A catalog is loaded once and can then be shared by any number of
+ * schedulers and threads without copying or locking. The Courses it hands
+ * out are shared by every scheduler, so they are read only: their setters
+ * throw an IllegalStateException rather than change a Course the catalog's
+ * indexes were built from.
+ * 
+ * The Courses are held in a CatalogStore. By default each Course is kept as an
+ * object, but a catalog can be built over a ColumnarCatalogStore instead to
+ * keep large catalogs in columns. The indexes only hold row numbers, so
+ * building them does not materialize the Courses of a columnar store.
+ * 
+ * @author Dinesh Karnati
+ */
+public class CourseCatalog {
+
+	/** Rows of the catalog in the order they were loaded */
+	private final CatalogStore store;
+	/** Courses in the catalog in the order they were loaded */
+	private final List<Course> courses;
+	/** Row of the catalog keyed by course name and section */
+	private final HashMap<String, Integer> byNameAndSection;
+	/** The catalog's sections keyed by course name */
+	private final HashMap<String, List<Course>> byName;
+	/** The catalog's sections keyed by instructor id */
+	private final HashMap<String, List<Course>> byInstructor;
+	/** Name, section, title and meeting string of every Course, built on first use */
+	private volatile DisplayTable displayTable;
+	/** Index used to answer queries, built on first use */
+	private volatile CatalogIndex index;
+	/** Conflicting pairs of sections, built on first use */
+	private volatile ConflictMatrix conflictMatrix;
+
+	/**
+	 * Constructs a catalog of the given Courses, in the given order. The caller
+	 * keeps its Courses: any that are not read only are copied, and the catalog
+	 * holds read only copies.
+	 * 
+	 * @param courses Courses in the catalog
+	 */
+	public CourseCatalog(List<Course> courses) {
+		this(new ListCatalogStore(courses, false));
+	}
+
+	/**
+	 * Constructs a catalog of the Courses in the given store, in row order
+	 * 
+	 * @param store store holding the Courses
+	 * @throws IllegalArgumentException if the store is null
+	 */
+	public CourseCatalog(CatalogStore store) {
+		if (store == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.store = store;
+		this.courses = new Rows(store, null);
+		this.byNameAndSection = new HashMap<>(store.size() * 2);
+
+		HashMap<String, ArrayList<Integer>> nameRows = new HashMap<>();
+		HashMap<String, ArrayList<Integer>> instructorRows = new HashMap<>();
+		for (int row = 0; row < store.size(); row++) {
+			String name = store.getName(row);
+			byNameAndSection.putIfAbsent(key(name, store.getSection(row)), row);
+			nameRows.computeIfAbsent(name, k -> new ArrayList<>()).add(row);
+			instructorRows.computeIfAbsent(store.getInstructorId(row), k -> new ArrayList<>()).add(row);
+		}
+		this.byName = toRowLists(store, nameRows);
+		this.byInstructor = toRowLists(store, instructorRows);
+	}
+
+	/**
+	 * Turns lists of row numbers into lists of the Courses in those rows
+	 * 
+	 * @param store store holding the rows
+	 * @param rows  row numbers by key
+	 * @return the Courses by key
+	 */
+	private static HashMap<String, List<Course>> toRowLists(CatalogStore store,
+			HashMap<String, ArrayList<Integer>> rows) {
+		HashMap<String, List<Course>> lists = new HashMap<>(rows.size() * 2);
+		for (HashMap.Entry<String, ArrayList<Integer>> e : rows.entrySet()) {
+			int[] r = new int[e.getValue().size()];
+			for (int i = 0; i < r.length; i++) {
+				r[i] = e.getValue().get(i);
+			}
+			lists.put(e.getKey(), new Rows(store, r));
+		}
+		return lists;
+	}
+
+	/**
+	 * Loads a catalog from a file of Course records
+	 * 
+	 * @param file file of Course records
+	 * @param mode how to read the file
+	 * @return the loaded catalog
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CourseCatalog load(String file, CatalogLoadMode mode) throws FileNotFoundException {
+		return load(file, mode, new CourseLoadReport());
+	}
+
+	/**
+	 * Loads a catalog from a file of Course records, recording the outcome of the
+	 * load in the given report
+	 * 
+	 * @param file   file of Course records
+	 * @param mode   how to read the file
+	 * @param report report to record the outcome of the load in
+	 * @return the loaded catalog
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CourseCatalog load(String file, CatalogLoadMode mode, CourseLoadReport report)
+			throws FileNotFoundException {
+		// The Courses were just read for this catalog, so they are handed over rather than copied
+		return new CourseCatalog(new ListCatalogStore(CourseRecordIO.readCourseRecords(file, report, mode), true));
+	}
+
+	/**
+	 * Builds the key used to index a course by name and section. A comma can
+	 * appear in neither field of a valid course, so the key is unambiguous.
+	 * 
+	 * @param name    name of the course
+	 * @param section section number
+	 * @return the key for the name and section
+	 */
+	private static String key(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Gets the number of Courses in the catalog
+	 * 
+	 * @return the number of Courses
+	 */
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Gets the store holding the catalog's rows
+	 * 
+	 * @return the catalog's store
+	 */
+	public CatalogStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Gets every Course in the catalog in the order they were loaded
+	 * 
+	 * @return an unmodifiable list of the read only Courses
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Gets the name, section, title and meeting string of every Course in the
+	 * catalog, in catalog order. The table is built the first time it is asked
+	 * for and the same table is returned from then on.
+	 * 
+	 * @return the catalog's display table
+	 */
+	public DisplayTable getDisplayTable() {
+		DisplayTable table = displayTable;
+		if (table == null) {
+			synchronized (this) {
+				table = displayTable;
+				if (table == null) {
+					String[][] rows = new String[store.size()][];
+					for (int i = 0; i < rows.length; i++) {
+						rows[i] = new String[] { store.getName(i), store.getSection(i), store.getTitle(i), Activity
+								.meetingString(store.getMeetingDays(i), store.getStartTime(i), store.getEndTime(i)) };
+					}
+					table = new DisplayTable(rows, 4);
+					displayTable = table;
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Gets the course that has the same name and section as provided
+	 * 
+	 * @param name    name of the course
+	 * @param section section number
+	 * @return the course, or null if there is none
+	 */
+	public Course getCourse(String name, String section) {
+		if (name == null || section == null) {
+			return null;
+		}
+		Integer row = byNameAndSection.get(key(name, section));
+		return row == null ? null : store.get(row);
+	}
+
+	/**
+	 * Gets every section in the catalog with the given course name, in catalog
+	 * order
+	 * 
+	 * @param name name of the course
+	 * @return an unmodifiable list of the course's sections, empty if there are
+	 *         none
+	 */
+	public List<Course> getCourses(String name) {
+		List<Course> sections = byName.get(name);
+		return sections == null ? Collections.emptyList() : sections;
+	}
+
+	/**
+	 * Gets every section in the catalog that conflicts with the given section
+	 * 
+	 * @param name    name of the course
+	 * @param section section number
+	 * @return the conflicting sections in catalog order, or an empty list if the
+	 *         section is not in the catalog
+	 */
+	public List<Course> getConflictingSections(String name, String section) {
+		if (name == null || section == null) {
+			return Collections.emptyList();
+		}
+		Integer row = byNameAndSection.get(key(name, section));
+		if (row == null) {
+			return Collections.emptyList();
+		}
+		return new Rows(store, getConflictMatrix().getConflicts(row));
+	}
+
+	/**
+	 * Gets the conflicting pairs of sections in the catalog, with rows numbered
+	 * in catalog order. The matrix is built in parallel the first time it is
+	 * asked for, so a caller that wants it ready can ask right after loading.
+	 * 
+	 * @return the catalog's conflict matrix
+	 */
+	public ConflictMatrix getConflictMatrix() {
+		ConflictMatrix matrix = conflictMatrix;
+		if (matrix == null) {
+			synchronized (this) {
+				matrix = conflictMatrix;
+				if (matrix == null) {
+					matrix = new ConflictMatrix(store, index().getTimedDays());
+					conflictMatrix = matrix;
+				}
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * Gets every section in the catalog taught by the given instructor, in
+	 * catalog order
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return an unmodifiable list of the instructor's sections, empty if there
+	 *         are none
+	 */
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		List<Course> sections = byInstructor.get(instructorId);
+		return sections == null ? Collections.emptyList() : sections;
+	}
+
+	/**
+	 * Finds every section that matches a query, in catalog order
+	 * 
+	 * @param query filters a section must pass
+	 * @return the matching sections
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public Stream<Course> find(CatalogQuery query) {
+		return matchingRows(query).stream().mapToObj(store::get);
+	}
+
+	/**
+	 * Finds one page of the sections that match a query, in catalog order
+	 * 
+	 * @param query    filters a section must pass
+	 * @param page     index of the page, starting at 0
+	 * @param pageSize most sections on a page
+	 * @return the matching sections on the page, empty past the last page
+	 * @throws IllegalArgumentException if the query is null, the page is
+	 *                                  negative or the page size is not positive
+	 */
+	public List<Course> find(CatalogQuery query, int page, int pageSize) {
+		if (page < 0 || pageSize < 1) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		BitSet rows = matchingRows(query);
+		long skip = (long) page * pageSize;
+		int row = rows.nextSetBit(0);
+		for (long i = 0; i < skip && row >= 0; i++) {
+			row = rows.nextSetBit(row + 1);
+		}
+		ArrayList<Course> result = new ArrayList<>(Math.min(pageSize, rows.cardinality()));
+		while (row >= 0 && result.size() < pageSize) {
+			result.add(store.get(row));
+			row = rows.nextSetBit(row + 1);
+		}
+		return result;
+	}
+
+	/**
+	 * Counts the sections that match a query
+	 * 
+	 * @param query filters a section must pass
+	 * @return the number of matching sections
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public int count(CatalogQuery query) {
+		return matchingRows(query).cardinality();
+	}
+
+	/**
+	 * Finds every section that could be added to a schedule holding the given
+	 * activities, in catalog order. A section fits if it has a different name
+	 * from every scheduled Course and overlaps no scheduled activity.
+	 * 
+	 * @param activities activities already scheduled
+	 * @return the sections that fit
+	 * @throws IllegalArgumentException if the activities are null
+	 */
+	public Stream<Course> findCompatible(List<? extends Activity> activities) {
+		if (activities == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		ConflictMatrix matrix = conflictMatrix;
+		int[] rows = matrix == null ? null : rowsOf(activities);
+		return index().findCompatible(activities, matrix, rows).stream().mapToObj(store::get);
+	}
+
+	/**
+	 * Builds a generator choosing among the catalog's sections of the given
+	 * courses around the given activities. Once the conflict matrix has been
+	 * built, conflicts between two of the catalog's sections are read from it
+	 * rather than worked out again.
+	 * 
+	 * @param names names of the courses to take
+	 * @param fixed activities already in the schedule
+	 * @return the generator
+	 * @throws IllegalArgumentException if the fixed activities are null or hold
+	 *                                  null
+	 */
+	ScheduleGenerator newScheduleGenerator(List<String> names, List<? extends Activity> fixed) {
+		List<List<Course>> choices = new ArrayList<>(names.size());
+		for (String name : names) {
+			choices.add(getCourses(name));
+		}
+		ConflictMatrix matrix = conflictMatrix;
+		if (matrix == null || fixed == null) {
+			return new ScheduleGenerator(choices, fixed);
+		}
+		int[][] choiceRows = new int[choices.size()][];
+		for (int g = 0; g < choices.size(); g++) {
+			List<Course> sections = choices.get(g);
+			choiceRows[g] = sections instanceof Rows ? ((Rows) sections).rows : new int[0];
+		}
+		return new ScheduleGenerator(choices, fixed, matrix, choiceRows, rowsOf(fixed));
+	}
+
+	/**
+	 * Finds the catalog row of each activity that is one of the catalog's
+	 * sections. A Course counts only if the row with its name and section meets
+	 * at the same times, so a Course kept from an earlier catalog is not taken
+	 * for a row it no longer matches.
+	 * 
+	 * @param activities activities to look up
+	 * @return the row of each activity, or -1 for one that is not a section of
+	 *         the catalog
+	 */
+	private int[] rowsOf(List<? extends Activity> activities) {
+		int[] rows = new int[activities.size()];
+		for (int i = 0; i < rows.length; i++) {
+			Activity a = activities.get(i);
+			Integer row = a instanceof Course
+					? byNameAndSection.get(key(((Course) a).getName(), ((Course) a).getSection()))
+					: null;
+			boolean same = row != null && store.getDayMask(row) == a.getDayMask()
+					&& store.getStartMinute(row) == a.getStartMinute() && store.getEndMinute(row) == a.getEndMinute();
+			rows[i] = same ? row : -1;
+		}
+		return rows;
+	}
+
+	/**
+	 * Finds the rows that match a query
+	 * 
+	 * @param query filters a row must pass
+	 * @return the matching rows
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	private BitSet matchingRows(CatalogQuery query) {
+		if (query == null) {
+			throw new IllegalArgumentException("Invalid query.");
+		}
+		return index().find(query);
+	}
+
+	/**
+	 * Gets the index used to answer queries, building it the first time it is
+	 * needed
+	 * 
+	 * @return the catalog's query index
+	 */
+	private CatalogIndex index() {
+		CatalogIndex idx = index;
+		if (idx == null) {
+			synchronized (this) {
+				idx = index;
+				if (idx == null) {
+					idx = new CatalogIndex(store);
+					index = idx;
+				}
+			}
+		}
+		return idx;
+	}
+
+	/**
+	 * A read-only list of the Courses in some or all rows of a store
+	 */
+	private static final class Rows extends AbstractList<Course> implements RandomAccess {
+
+		/** Store holding the rows */
+		private final CatalogStore store;
+		/** Row numbers in the list, or null for every row of the store */
+		private final int[] rows;
+
+		/**
+		 * Constructs a list of rows
+		 * 
+		 * @param store store holding the rows
+		 * @param rows  row numbers in the list, or null for every row
+		 */
+		Rows(CatalogStore store, int[] rows) {
+			this.store = store;
+			this.rows = rows;
+		}
+
+		@Override
+		public Course get(int index) {
+			if (rows == null) {
+				return store.get(index);
+			}
+			return store.get(rows[index]);
+		}
+
+		@Override
+		public int size() {
+			return rows == null ? store.size() : rows.length;
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+/**
+ * A read-only table of display strings, such as the rows the GUI shows for the
+ * course catalog. A table never changes once built, so it can be cached and
+ * handed to any number of callers without copying.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class DisplayTable {
+
+	/** Rows of the table; never modified after construction */
+	private final String[][] rows;
+	/** Number of columns in every row */
+	private final int columns;
+
+	/**
+	 * Constructs a table that takes ownership of the given rows. The caller must
+	 * not modify the rows afterwards.
+	 * 
+	 * @param rows    rows of the table
+	 * @param columns number of columns in every row
+	 */
+	DisplayTable(String[][] rows, int columns) {
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Gets the number of rows in the table
+	 * 
+	 * @return the number of rows
+	 */
+	public int getRowCount() {
+		return rows.length;
+	}
+
+	/**
+	 * Gets the number of columns in the table
+	 * 
+	 * @return the number of columns
+	 */
+	public int getColumnCount() {
+		return columns;
+	}
+
+	/**
+	 * Gets the value at the given row and column
+	 * 
+	 * @param row row index
+	 * @param col column index
+	 * @return the value at the given location
+	 * @throws ArrayIndexOutOfBoundsException if the row or column is out of
+	 *                                        bounds
+	 */
+	public String getValueAt(int row, int col) {
+		return rows[row][col];
+	}
+
+	/**
+	 * Copies the table into a new array that the caller may modify
+	 * 
+	 * @return a copy of the rows
+	 */
+	public String[][] toArray() {
+		String[][] copy = new String[rows.length][];
+		for (int i = 0; i < rows.length; i++) {
+			copy[i] = rows[i].clone();
+		}
+		return copy;
+	}
+
+}
@@ -0,0 +1,118 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A catalog store that keeps every row as a Course object in a list, reading
+ * each field from its Course
+ * 
+ * @author Dinesh Karnati
+ */
+final class ListCatalogStore implements CatalogStore {
+
+	/** Course in each row */
+	private final ArrayList<Course> courses;
+
+	/**
+	 * Constructs a store of the given Courses, in the given order. The stored
+	 * Courses are read only, since the catalog's indexes are built from them. A
+	 * Course the caller may still change is copied rather than frozen; Courses
+	 * that are already read only, or that the caller hands over, are kept as
+	 * they are.
+	 * 
+	 * @param courses Courses in the store
+	 * @param owned   whether the caller hands the Courses over and will not use
+	 *                them again, so they can be made read only in place
+	 */
+	ListCatalogStore(List<Course> courses, boolean owned) {
+		this.courses = new ArrayList<>(courses.size());
+		for (Course c : courses) {
+			Course kept = owned || c.isReadOnly() ? c : copy(c);
+			kept.makeReadOnly();
+			this.courses.add(kept);
+		}
+	}
+
+	/**
+	 * Copies a valid Course
+	 * 
+	 * @param c Course to copy
+	 * @return a new Course with the same fields
+	 */
+	private static Course copy(Course c) {
+		return Course.fromValidated(c.getName(), c.getTitle(), c.getSection(), c.getCredits(), c.getInstructorId(),
+				c.getMeetingDays(), c.getStartTime(), c.getEndTime());
+	}
+
+	@Override
+	public int size() {
+		return courses.size();
+	}
+
+	@Override
+	public Course get(int row) {
+		return courses.get(row);
+	}
+
+	@Override
+	public String getName(int row) {
+		return courses.get(row).getName();
+	}
+
+	@Override
+	public String getTitle(int row) {
+		return courses.get(row).getTitle();
+	}
+
+	@Override
+	public String getSection(int row) {
+		return courses.get(row).getSection();
+	}
+
+	@Override
+	public int getCredits(int row) {
+		return courses.get(row).getCredits();
+	}
+
+	@Override
+	public String getInstructorId(int row) {
+		return courses.get(row).getInstructorId();
+	}
+
+	@Override
+	public String getMeetingDays(int row) {
+		return courses.get(row).getMeetingDays();
+	}
+
+	@Override
+	public int getStartTime(int row) {
+		return courses.get(row).getStartTime();
+	}
+
+	@Override
+	public int getEndTime(int row) {
+		return courses.get(row).getEndTime();
+	}
+
+	@Override
+	public int getStartMinute(int row) {
+		return courses.get(row).getStartMinute();
+	}
+
+	@Override
+	public int getEndMinute(int row) {
+		return courses.get(row).getEndMinute();
+	}
+
+	@Override
+	public int getDayMask(int row) {
+		return courses.get(row).getDayMask();
+	}
+
+}
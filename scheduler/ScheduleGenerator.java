@@ -0,0 +1,518 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Finds the ways to take one section of each of several courses without any
+ * two activities conflicting. Conflicts are found with Activity.conflictsWith,
+ * or read from the catalog's ConflictMatrix when the sections come from a
+ * catalog that has built one, and sections that conflict with or duplicate an
+ * activity that is already fixed in the schedule are never chosen.
+ * 
+ * Every candidate section is numbered, and the sections each one conflicts
+ * with are kept as a bit set. The search picks a section for one course at a
+ * time, ORs its conflicts into the set of blocked sections, and backs out as
+ * soon as some course left to pick has every section blocked. The top levels
+ * of the search tree are split into tasks on the common fork-join pool.
+ * 
+ * @author Dinesh Karnati
+ */
+public final class ScheduleGenerator {
+
+	/** Depth of the search tree down to which each branch gets its own task */
+	private static final int SPLIT_DEPTH = 2;
+	/** Bits in a word of a bit set */
+	private static final int WORD_BITS = 64;
+
+	/** Every candidate section, numbered by position */
+	private final Course[] sections;
+	/** Candidate section numbers of each course, in search order */
+	private final int[][] groups;
+	/** Position in the requested courses of each course in search order */
+	private final int[] requestedPosition;
+	/** Sections each section conflicts with, as bit sets */
+	private final long[][] conflicts;
+	/** Sections of each course in search order, as bit sets */
+	private final long[][] groupMasks;
+	/** Number of words in each bit set */
+	private final int words;
+
+	/**
+	 * Constructs a generator that picks one section from each list of sections
+	 * 
+	 * @param choices sections to choose from for each requested course
+	 * @param fixed   activities already in the schedule that every combination
+	 *                must fit around
+	 * @throws IllegalArgumentException if the choices or fixed activities are
+	 *                                  null or hold null
+	 */
+	public ScheduleGenerator(List<List<Course>> choices, List<? extends Activity> fixed) {
+		this(choices, fixed, null, null, null);
+	}
+
+	/**
+	 * Constructs a generator that picks one section from each list of catalog
+	 * sections, reading the conflicts between sections from the catalog's
+	 * conflict matrix. A fixed activity that is not a row of the catalog, such
+	 * as an Event, is checked with Activity.conflictsWith.
+	 * 
+	 * @param choices    sections to choose from for each requested course
+	 * @param fixed      activities already in the schedule that every
+	 *                   combination must fit around
+	 * @param matrix     conflict matrix of the catalog the sections are from, or
+	 *                   null to check every pair with Activity.conflictsWith
+	 * @param choiceRows catalog row of each section in the choices; ignored if
+	 *                   the matrix is null
+	 * @param fixedRows  catalog row of each fixed activity, or -1 for one that is
+	 *                   not a row; ignored if the matrix is null
+	 * @throws IllegalArgumentException if the choices or fixed activities are
+	 *                                  null or hold null
+	 */
+	ScheduleGenerator(List<List<Course>> choices, List<? extends Activity> fixed, ConflictMatrix matrix,
+			int[][] choiceRows, int[] fixedRows) {
+		if (choices == null || fixed == null || fixed.contains(null)) {
+			throw new IllegalArgumentException("Invalid course choices.");
+		}
+
+		int choiceCount = 0;
+		for (List<Course> group : choices) {
+			if (group == null || group.contains(null)) {
+				throw new IllegalArgumentException("Invalid course choices.");
+			}
+			choiceCount += group.size();
+		}
+
+		ArrayList<Course> candidates = new ArrayList<>();
+		int[] candidateRows = new int[choiceCount];
+		int[][] requestedGroups = new int[choices.size()][];
+		for (int g = 0; g < choices.size(); g++) {
+			List<Course> group = choices.get(g);
+			int[] ids = new int[group.size()];
+			int count = 0;
+			for (int i = 0; i < group.size(); i++) {
+				Course c = group.get(i);
+				int row = matrix == null ? -1 : choiceRows[g][i];
+				if (fits(c, row, fixed, matrix, fixedRows)) {
+					ids[count++] = candidates.size();
+					candidateRows[candidates.size()] = row;
+					candidates.add(c);
+				}
+			}
+			requestedGroups[g] = Arrays.copyOf(ids, count);
+		}
+
+		sections = candidates.toArray(new Course[candidates.size()]);
+		words = (sections.length + WORD_BITS - 1) / WORD_BITS;
+
+		Integer[] order = new Integer[requestedGroups.length];
+		for (int g = 0; g < order.length; g++) {
+			order[g] = g;
+		}
+		Arrays.sort(order, Comparator.comparingInt(g -> requestedGroups[g].length));
+		groups = new int[order.length][];
+		requestedPosition = new int[order.length];
+		groupMasks = new long[order.length][words];
+		for (int g = 0; g < order.length; g++) {
+			groups[g] = requestedGroups[order[g]];
+			requestedPosition[g] = order[g];
+			for (int s : groups[g]) {
+				set(groupMasks[g], s);
+			}
+		}
+
+		conflicts = new long[sections.length][words];
+		for (int i = 0; i < sections.length; i++) {
+			for (int j = i + 1; j < sections.length; j++) {
+				boolean conflict = matrix != null
+						? matrix.conflicts(candidateRows[i], candidateRows[j])
+						: sections[i].conflictsWith(sections[j]);
+				if (conflict) {
+					set(conflicts[i], j);
+					set(conflicts[j], i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a section fits around the fixed activities
+	 * 
+	 * @param c         section to check
+	 * @param row       catalog row of the section, or -1 if the matrix is null
+	 * @param fixed     activities already in the schedule
+	 * @param matrix    conflict matrix of the catalog, or null
+	 * @param fixedRows catalog row of each fixed activity, or -1 for one that is
+	 *                  not a row; ignored if the matrix is null
+	 * @return true if the section neither duplicates nor conflicts with any of
+	 *         them
+	 */
+	private static boolean fits(Course c, int row, List<? extends Activity> fixed, ConflictMatrix matrix,
+			int[] fixedRows) {
+		for (int i = 0; i < fixed.size(); i++) {
+			Activity a = fixed.get(i);
+			if (c.isDuplicate(a)) {
+				return false;
+			}
+			boolean conflict = matrix != null && fixedRows[i] >= 0 ? matrix.conflicts(fixedRows[i], row)
+					: c.conflictsWith(a);
+			if (conflict) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds every conflict-free combination
+	 * 
+	 * @return each combination's sections, in the order the courses were
+	 *         requested
+	 */
+	public List<List<Course>> findAll() {
+		return run(new Results(this, -1, null)).toList();
+	}
+
+	/**
+	 * Finds the best conflict-free combinations by a score. Combinations with
+	 * equal scores are ranked in a fixed order, so the same input always gives
+	 * the same answer. The scorer is called from several threads at once.
+	 * 
+	 * @param count  most combinations to return
+	 * @param scorer scores a combination's sections, given in the order the
+	 *               courses were requested; higher is better
+	 * @return the best combinations, best first
+	 * @throws IllegalArgumentException if the count is not positive or the
+	 *                                  scorer is null
+	 */
+	public List<List<Course>> findBest(int count, ToDoubleFunction<List<Course>> scorer) {
+		if (count < 1) {
+			throw new IllegalArgumentException("Invalid count.");
+		}
+		if (scorer == null) {
+			throw new IllegalArgumentException("Invalid scorer.");
+		}
+		return run(new Results(this, count, scorer)).toList();
+	}
+
+	/**
+	 * Runs the search on the common fork-join pool
+	 * 
+	 * @param empty empty results of the kind wanted
+	 * @return the results of the search
+	 */
+	private Results run(Results empty) {
+		long[] blocked = new long[words];
+		if (!viable(blocked, 0)) {
+			return empty;
+		}
+		return ForkJoinPool.commonPool().invoke(new Search(this, empty, 0, new int[groups.length], blocked));
+	}
+
+	/**
+	 * Searches every combination below a partial one, adding each complete
+	 * combination to the results
+	 * 
+	 * @param depth   number of courses already picked
+	 * @param chosen  sections picked so far, in search order
+	 * @param blocked sections that conflict with a picked section
+	 * @param results receives complete combinations
+	 */
+	private void search(int depth, int[] chosen, long[] blocked, Results results) {
+		if (depth == groups.length) {
+			results.add(chosen);
+			return;
+		}
+		long[] next = new long[words];
+		for (int s : groups[depth]) {
+			if (!pick(s, depth, blocked, next)) {
+				continue;
+			}
+			chosen[depth] = s;
+			search(depth + 1, chosen, next, results);
+		}
+	}
+
+	/**
+	 * Tries to pick a section, working out the sections blocked once it is
+	 * picked
+	 * 
+	 * @param s       section to pick
+	 * @param depth   number of courses already picked
+	 * @param blocked sections blocked before the pick
+	 * @param next    receives the sections blocked after the pick
+	 * @return true if the section is free and every course left to pick still
+	 *         has a free section
+	 */
+	private boolean pick(int s, int depth, long[] blocked, long[] next) {
+		if ((blocked[s / WORD_BITS] & 1L << s) != 0) {
+			return false;
+		}
+		long[] c = conflicts[s];
+		for (int w = 0; w < words; w++) {
+			next[w] = blocked[w] | c[w];
+		}
+		return viable(next, depth + 1);
+	}
+
+	/**
+	 * Checks that every course from the given depth on has a section that is not
+	 * blocked
+	 * 
+	 * @param blocked sections that are blocked
+	 * @param depth   first course to check
+	 * @return true if each of those courses has a free section
+	 */
+	private boolean viable(long[] blocked, int depth) {
+		for (int g = depth; g < groups.length; g++) {
+			long[] mask = groupMasks[g];
+			boolean free = false;
+			for (int w = 0; w < words && !free; w++) {
+				free = (mask[w] & ~blocked[w]) != 0;
+			}
+			if (!free) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Turns picked section numbers into their sections, in the order the courses
+	 * were requested
+	 * 
+	 * @param chosen section numbers in search order
+	 * @return the sections
+	 */
+	private List<Course> toCourses(int[] chosen) {
+		Course[] picked = new Course[chosen.length];
+		for (int g = 0; g < chosen.length; g++) {
+			picked[requestedPosition[g]] = sections[chosen[g]];
+		}
+		return Collections.unmodifiableList(Arrays.asList(picked));
+	}
+
+	/**
+	 * Sets a bit in a bit set
+	 * 
+	 * @param bits bit set
+	 * @param bit  bit to set
+	 */
+	private static void set(long[] bits, int bit) {
+		bits[bit / WORD_BITS] |= 1L << bit;
+	}
+
+	/**
+	 * Combinations found by part of the search: either all of them, or only the
+	 * best few by a score
+	 */
+	private static final class Results {
+
+		/** Ranks scored combinations worst first */
+		private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble((Scored s) -> s.score)
+				.thenComparing((x, y) -> Arrays.compare(y.chosen, x.chosen));
+
+		/** Generator whose combinations these are */
+		private final ScheduleGenerator generator;
+		/** Most combinations to keep, or -1 to keep them all */
+		private final int limit;
+		/** Scores combinations, or null when keeping them all */
+		private final ToDoubleFunction<List<Course>> scorer;
+		/** Every combination found, when keeping them all */
+		private final ArrayList<List<Course>> all = new ArrayList<>();
+		/** Best combinations found, worst at the head, when keeping the best few */
+		private final PriorityQueue<Scored> best;
+
+		/**
+		 * Constructs empty results
+		 * 
+		 * @param generator generator whose combinations these are
+		 * @param limit     most combinations to keep, or -1 to keep them all
+		 * @param scorer    scores combinations, or null when keeping them all
+		 */
+		Results(ScheduleGenerator generator, int limit, ToDoubleFunction<List<Course>> scorer) {
+			this.generator = generator;
+			this.limit = limit;
+			this.scorer = scorer;
+			this.best = limit < 0 ? null : new PriorityQueue<>(WORST_FIRST);
+		}
+
+		/**
+		 * Constructs empty results of the same kind as the given results
+		 * 
+		 * @return the empty results
+		 */
+		Results emptyCopy() {
+			return new Results(generator, limit, scorer);
+		}
+
+		/**
+		 * Adds a complete combination
+		 * 
+		 * @param chosen section numbers in search order, which may be changed
+		 *               after this returns
+		 */
+		void add(int[] chosen) {
+			List<Course> courses = generator.toCourses(chosen);
+			if (best == null) {
+				all.add(courses);
+			} else {
+				offer(new Scored(chosen.clone(), courses, scorer.applyAsDouble(courses)));
+			}
+		}
+
+		/**
+		 * Keeps a scored combination if it is among the best seen
+		 * 
+		 * @param s scored combination
+		 */
+		private void offer(Scored s) {
+			if (best.size() < limit) {
+				best.add(s);
+			} else if (WORST_FIRST.compare(s, best.peek()) > 0) {
+				best.poll();
+				best.add(s);
+			}
+		}
+
+		/**
+		 * Adds the combinations of other results found later in the search
+		 * 
+		 * @param other results to add
+		 */
+		void addAll(Results other) {
+			if (best == null) {
+				all.addAll(other.all);
+			} else {
+				for (Scored s : other.best) {
+					offer(s);
+				}
+			}
+		}
+
+		/**
+		 * Gets the kept combinations
+		 * 
+		 * @return every combination in search order, or the best ones best first
+		 */
+		List<List<Course>> toList() {
+			if (best == null) {
+				return all;
+			}
+			ArrayList<Scored> ranked = new ArrayList<>(best);
+			ranked.sort(WORST_FIRST.reversed());
+			List<List<Course>> list = new ArrayList<>(ranked.size());
+			for (Scored s : ranked) {
+				list.add(s.courses);
+			}
+			return list;
+		}
+
+	}
+
+	/**
+	 * A combination along with its score
+	 */
+	private static final class Scored {
+
+		/** Section numbers in search order */
+		private final int[] chosen;
+		/** Sections in the order the courses were requested */
+		private final List<Course> courses;
+		/** Score of the combination */
+		private final double score;
+
+		/**
+		 * Constructs a scored combination
+		 * 
+		 * @param chosen  section numbers in search order
+		 * @param courses sections in the order the courses were requested
+		 * @param score   score of the combination
+		 */
+		Scored(int[] chosen, List<Course> courses, double score) {
+			this.chosen = chosen;
+			this.courses = courses;
+			this.score = score;
+		}
+
+	}
+
+	/**
+	 * Searches the combinations below a partial one, giving each branch its own
+	 * task near the top of the tree and searching sequentially below that
+	 */
+	private static final class Search extends RecursiveTask<Results> {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+
+		/** Generator being searched */
+		private final transient ScheduleGenerator generator;
+		/** Empty results of the kind wanted */
+		private final transient Results empty;
+		/** Number of courses already picked */
+		private final int depth;
+		/** Sections picked so far, in search order */
+		private final int[] chosen;
+		/** Sections that conflict with a picked section */
+		private final long[] blocked;
+
+		/**
+		 * Constructs a task searching below a partial combination
+		 * 
+		 * @param generator generator being searched
+		 * @param empty     empty results of the kind wanted
+		 * @param depth     number of courses already picked
+		 * @param chosen    sections picked so far, owned by the task
+		 * @param blocked   sections that conflict with a picked section, owned by
+		 *                  the task
+		 */
+		Search(ScheduleGenerator generator, Results empty, int depth, int[] chosen, long[] blocked) {
+			this.generator = generator;
+			this.empty = empty;
+			this.depth = depth;
+			this.chosen = chosen;
+			this.blocked = blocked;
+		}
+
+		@Override
+		protected Results compute() {
+			Results results = empty.emptyCopy();
+			if (depth >= SPLIT_DEPTH || depth == generator.groups.length) {
+				generator.search(depth, chosen, blocked, results);
+				return results;
+			}
+
+			List<Search> branches = new ArrayList<>();
+			for (int s : generator.groups[depth]) {
+				long[] next = new long[generator.words];
+				if (generator.pick(s, depth, blocked, next)) {
+					int[] branch = chosen.clone();
+					branch[depth] = s;
+					branches.add(new Search(generator, empty, depth + 1, branch, next));
+				}
+			}
+			ForkJoinTask.invokeAll(branches);
+			for (Search branch : branches) {
+				results.addAll(branch.join());
+			}
+			return results;
+		}
+
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Indexes the activities in a schedule so duplicate and conflict checks do not
+ * have to look at every scheduled activity. Each meeting day keeps its
+ * activities ordered by start time, and courses and events are hashed by the
+ * name or title their duplicate check compares.
+ *
+ * The index relies on the activities it holds never conflicting with each
+ * other, which the scheduler guarantees by checking before it adds. Under that
+ * rule the intervals on a day are disjoint, so a conflict query only walks back
+ * from the last activity starting before the new one ends.
+ *
+ * @author Dinesh Karnati
+ */
+public class ScheduleIndex {
+
+	/** Number of meeting days that can hold timed activities */
+	private static final int DAYS = 7;
+
+	/** Scheduled activities on each day, keyed by start minute */
+	private final List<TreeMap<Integer, Activity>> days = new ArrayList<>(DAYS);
+	/** Scheduled courses keyed by name */
+	private final HashMap<String, Activity> courses = new HashMap<>();
+	/** Scheduled events keyed by title */
+	private final HashMap<String, Activity> events = new HashMap<>();
+
+	/**
+	 * Constructs an empty schedule index
+	 */
+	public ScheduleIndex() {
+		for (int d = 0; d < DAYS; d++) {
+			days.add(new TreeMap<>());
+		}
+	}
+
+	/**
+	 * Adds an activity to the index. The activity must not conflict with any
+	 * activity already in the index.
+	 *
+	 * @param activity activity to add
+	 */
+	public void add(Activity activity) {
+		if (activity instanceof Course) {
+			courses.put(((Course) activity).getName(), activity);
+		} else if (activity instanceof Event) {
+			events.put(activity.getTitle(), activity);
+		}
+
+		int mask = activity.getDayMask();
+		for (int d = 0; d < DAYS; d++) {
+			if ((mask & (1 << d)) != 0) {
+				days.get(d).put(activity.getStartMinute(), activity);
+			}
+		}
+	}
+
+	/**
+	 * Removes an activity from the index
+	 *
+	 * @param activity activity to remove
+	 */
+	public void remove(Activity activity) {
+		if (activity instanceof Course) {
+			courses.remove(((Course) activity).getName(), activity);
+		} else if (activity instanceof Event) {
+			events.remove(activity.getTitle(), activity);
+		}
+
+		int mask = activity.getDayMask();
+		for (int d = 0; d < DAYS; d++) {
+			if ((mask & (1 << d)) != 0) {
+				days.get(d).remove(activity.getStartMinute(), activity);
+			}
+		}
+	}
+
+	/**
+	 * Removes every activity from the index
+	 */
+	public void clear() {
+		courses.clear();
+		events.clear();
+		for (TreeMap<Integer, Activity> day : days) {
+			day.clear();
+		}
+	}
+
+	/**
+	 * Finds the indexed activity that the given activity would duplicate
+	 *
+	 * @param activity activity to look up
+	 * @return the indexed duplicate, or null if there is none
+	 */
+	public Activity findDuplicate(Activity activity) {
+		if (activity instanceof Course) {
+			return courses.get(((Course) activity).getName());
+		} else if (activity instanceof Event) {
+			return events.get(activity.getTitle());
+		}
+		return null;
+	}
+
+	/**
+	 * Finds every indexed activity that conflicts with the given activity
+	 *
+	 * @param activity activity to look up
+	 * @return the conflicting activities, empty if there are none
+	 */
+	public List<Activity> findConflicts(Activity activity) {
+		List<Activity> conflicts = new ArrayList<>(0);
+		int mask = activity.getDayMask();
+		int start = activity.getStartMinute();
+
+		for (int d = 0; d < DAYS; d++) {
+			if ((mask & (1 << d)) == 0) {
+				continue;
+			}
+			for (Map.Entry<Integer, Activity> e : days.get(d).headMap(activity.getEndMinute(), true).descendingMap()
+					.entrySet()) {
+				Activity scheduled = e.getValue();
+				if (scheduled.getEndMinute() < start) {
+					break;
+				}
+				if (!conflicts.contains(scheduled)) {
+					conflicts.add(scheduled);
+				}
+			}
+		}
+		return conflicts;
+	}
+
+}
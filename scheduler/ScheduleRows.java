@@ -0,0 +1,81 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Keeps the display rows of a schedule up to date as activities are added and
+ * removed, so a row is formatted once when its activity is scheduled rather
+ * than on every read. A snapshot of the rows is built only when the schedule
+ * has changed since the last one was taken.
+ * 
+ * Changes must be made while holding the schedule's write lock, and snapshots
+ * taken while holding at least its read lock.
+ * 
+ * @author Dinesh Karnati
+ */
+class ScheduleRows {
+
+	/** Display row of each scheduled activity, in schedule order */
+	private final ArrayList<String[]> rows = new ArrayList<>();
+	/** Number of columns in every row */
+	private final int columns;
+	/** Last snapshot taken, or null if none has been */
+	private DisplayTable snapshot;
+	/** Schedule version the last snapshot was taken at */
+	private int snapshotVersion;
+
+	/**
+	 * Constructs an empty set of rows
+	 * 
+	 * @param columns number of columns in every row
+	 */
+	ScheduleRows(int columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * Adds a row to the end of the schedule
+	 * 
+	 * @param row display array of the added activity
+	 */
+	void add(String[] row) {
+		rows.add(Arrays.copyOf(row, columns));
+	}
+
+	/**
+	 * Removes the row at the given index
+	 * 
+	 * @param idx index of the removed activity
+	 */
+	void remove(int idx) {
+		rows.remove(idx);
+	}
+
+	/**
+	 * Removes every row
+	 */
+	void clear() {
+		rows.clear();
+	}
+
+	/**
+	 * Gets a snapshot of the rows at the given schedule version, reusing the
+	 * last snapshot if the schedule has not changed since it was taken. Readers
+	 * holding the read lock may call this at the same time.
+	 * 
+	 * @param version the schedule's current version
+	 * @return the rows as a read-only table
+	 */
+	synchronized DisplayTable snapshot(int version) {
+		if (snapshot == null || snapshotVersion != version) {
+			snapshot = new DisplayTable(rows.toArray(new String[rows.size()][]), columns);
+			snapshotVersion = version;
+		}
+		return snapshot;
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * The timed rows of each meeting day of a catalog store, ordered by start,
+ * along with the longest meeting on each day. Every row that can overlap a
+ * meeting on a day starts between the meeting's start less that longest
+ * meeting and the meeting's end, so only that slice of the day needs to be
+ * checked. The slice from candidatesFrom to candidatesTo is walked and each
+ * row whose end is at or after the meeting's start overlaps it.
+ * 
+ * @author Dinesh Karnati
+ */
+final class TimedDays {
+
+	/** Number of meeting days that can hold timed rows */
+	static final int TIMED_DAYS = 7;
+
+	/** Timed rows meeting on each day, ordered by start */
+	private final int[][] rows = new int[TIMED_DAYS][];
+	/** Start of each row in rows, in minutes since midnight */
+	private final int[][] starts = new int[TIMED_DAYS][];
+	/** End of each row in rows, in minutes since midnight */
+	private final int[][] ends = new int[TIMED_DAYS][];
+	/** Longest meeting on each day, in minutes */
+	private final int[] maxDuration = new int[TIMED_DAYS];
+
+	/**
+	 * Sorts the timed rows of each day of a store
+	 * 
+	 * @param store store holding the rows
+	 */
+	TimedDays(CatalogStore store) {
+		int size = store.size();
+		long[] packed = new long[size];
+		for (int d = 0; d < TIMED_DAYS; d++) {
+			int count = 0;
+			for (int row = 0; row < size; row++) {
+				if ((store.getDayMask(row) & (1 << d)) != 0) {
+					packed[count++] = (long) store.getStartMinute(row) << Integer.SIZE | row;
+				}
+			}
+			Arrays.sort(packed, 0, count);
+			rows[d] = new int[count];
+			starts[d] = new int[count];
+			ends[d] = new int[count];
+			for (int i = 0; i < count; i++) {
+				int row = (int) packed[i];
+				rows[d][i] = row;
+				starts[d][i] = (int) (packed[i] >>> Integer.SIZE);
+				ends[d][i] = store.getEndMinute(row);
+				maxDuration[d] = Math.max(maxDuration[d], ends[d][i] - starts[d][i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the timed rows meeting on a day, ordered by start
+	 * 
+	 * @param d day bit position
+	 * @return the day's rows
+	 */
+	int[] getRows(int d) {
+		return rows[d];
+	}
+
+	/**
+	 * Gets the end of each of a day's rows, in the order of getRows
+	 * 
+	 * @param d day bit position
+	 * @return the ends in minutes since midnight
+	 */
+	int[] getEnds(int d) {
+		return ends[d];
+	}
+
+	/**
+	 * Finds the first of a day's rows that can overlap a meeting starting at the
+	 * given minute
+	 * 
+	 * @param d     day bit position
+	 * @param start start of the meeting in minutes since midnight
+	 * @return the first index in the day's rows to check
+	 */
+	int candidatesFrom(int d, int start) {
+		return lowerBound(starts[d], start - maxDuration[d]);
+	}
+
+	/**
+	 * Finds the index just past the last of a day's rows that can overlap a
+	 * meeting ending at the given minute
+	 * 
+	 * @param d   day bit position
+	 * @param end end of the meeting in minutes since midnight
+	 * @return the index just past the last row to check
+	 */
+	int candidatesTo(int d, int end) {
+		return lowerBound(starts[d], end + 1);
+	}
+
+	/**
+	 * Finds the first index in a sorted array whose value is at least the key
+	 * 
+	 * @param sorted sorted values
+	 * @param key    value to look for
+	 * @return the first index with a value of at least the key, or the array's
+	 *         length if there is none
+	 */
+	static int lowerBound(int[] sorted, int key) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < key) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+}
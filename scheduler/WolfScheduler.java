@@ -6,28 +6,51 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.BatchExportResult;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadMode;
+import edu.ncsu.csc216.wolf_scheduler.io.NamedSchedule;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleBatchExporter;
 
 /**
  * Adds functionality to the the scheduler by letting the user add activities,
  * remove activities, etc from their schedule
  * 
+ * A scheduler can be shared between threads. The course catalog is immutable
+ * and may be shared with other schedulers, so it is read without locking. Every change to the
+ * schedule happens atomically under the schedule's write lock, and reads of the
+ * schedule see it either before or after each change, never part way through.
+ * 
  * @author Dinesh Karnati
  */
 public class WolfScheduler {
 
-	/** An array list than contains the different activities available */
-	private ArrayList<Course> courseCatalog = new ArrayList<>();
+	/** The catalog of courses available, which may be shared with other schedulers */
+	private final CourseCatalog courseCatalog;
 	/** An array list that contains the user's specific schedule */
-	private ArrayList<Activity> schedule = new ArrayList<>();
+	private final ArrayList<Activity> schedule = new ArrayList<>();
+	/** Index of the schedule used for duplicate and conflict checks */
+	private final ScheduleIndex scheduleIndex = new ScheduleIndex();
+	/** Short display row of each scheduled activity */
+	private final ScheduleRows shortRows = new ScheduleRows(4);
+	/** Long display row of each scheduled activity */
+	private final ScheduleRows longRows = new ScheduleRows(7);
+	/** Number of changes made to the schedule, used to tell when its rows are stale */
+	private int scheduleVersion;
+	/** Guards the schedule, its index, its rows and its version */
+	private final ReentrantReadWriteLock scheduleLock = new ReentrantReadWriteLock();
 	/** The name the user gives to their schedule */
-	private String title;
+	private volatile String title;
 
 	/**
 	 * Constructs a Wolf scheduler object with its course catalog and schedule title
@@ -36,15 +59,59 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the file is not found
 	 */
 	public WolfScheduler(String file) {
+		this(file, CatalogLoadMode.STREAMING);
+	}
+
+	/**
+	 * Constructs a Wolf scheduler object with its course catalog, read using the
+	 * given load mode, and schedule title
+	 * 
+	 * @param file file that contains information regarding the Wolf scheduler
+	 * @param mode how to read the course catalog file
+	 * @throws IllegalArgumentException if the file is not found
+	 */
+	public WolfScheduler(String file, CatalogLoadMode mode) {
+		this(loadCatalog(file, mode));
+	}
 
+	/**
+	 * Constructs a Wolf scheduler object for a user's schedule over a catalog that
+	 * has already been loaded. Any number of schedulers can share one catalog.
+	 * 
+	 * @param catalog course catalog to schedule from
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
 		this.title = "My Schedule";
+		this.courseCatalog = catalog;
+	}
 
+	/**
+	 * Loads the course catalog for a scheduler
+	 * 
+	 * @param file file that contains information regarding the Wolf scheduler
+	 * @param mode how to read the course catalog file
+	 * @return the loaded catalog
+	 * @throws IllegalArgumentException if the file is not found
+	 */
+	private static CourseCatalog loadCatalog(String file, CatalogLoadMode mode) {
 		try {
-			courseCatalog = CourseRecordIO.readCourseRecords(file);
+			return CourseCatalog.load(file, mode);
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Invalid Course.");
 		}
+	}
 
+	/**
+	 * Gets the course catalog the user schedules from
+	 * 
+	 * @return the course catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return courseCatalog;
 	}
 
 	/**
@@ -55,17 +122,18 @@ public class WolfScheduler {
 	 */
 
 	public String[][] getCourseCatalog() {
+		return getCourseCatalogView().toArray();
+	}
 
-		String[][] catalog = new String[this.courseCatalog.size()][4];
-
-		for (int i = 0; i < this.courseCatalog.size(); i++) {
-			catalog[i][0] = courseCatalog.get(i).getName();
-			catalog[i][1] = courseCatalog.get(i).getSection();
-			catalog[i][2] = courseCatalog.get(i).getTitle();
-			catalog[i][3] = courseCatalog.get(i).getMeetingString();
-
-		}
-		return catalog;
+	/**
+	 * Gets a read-only view of the different courses along with their names,
+	 * sections, titles, and meeting information. The view is built once per
+	 * catalog, so repeated calls do not allocate.
+	 * 
+	 * @return the catalog's display table
+	 */
+	public DisplayTable getCourseCatalogView() {
+		return courseCatalog.getDisplayTable();
 	}
 
 	/**
@@ -75,19 +143,23 @@ public class WolfScheduler {
 	 *         section, and title
 	 */
 	public String[][] getScheduledActivities() {
+		return getScheduledActivitiesView().toArray();
+	}
 
-		String[][] s = new String[this.schedule.size()][4];
-
-		for (int i = 0; i < this.schedule.size(); i++) {
-			String[] shortDisplay = schedule.get(i).getShortDisplayArray();
-			s[i][0] = shortDisplay[0];
-			s[i][1] = shortDisplay[1];
-			s[i][2] = shortDisplay[2];
-			s[i][3] = shortDisplay[3];
+	/**
+	 * Gets a read-only view of the user's schedule along with names, sections,
+	 * titles, and meeting information. The view is reused until the schedule
+	 * next changes.
+	 * 
+	 * @return the schedule's short display table
+	 */
+	public DisplayTable getScheduledActivitiesView() {
+		scheduleLock.readLock().lock();
+		try {
+			return shortRows.snapshot(scheduleVersion);
+		} finally {
+			scheduleLock.readLock().unlock();
 		}
-
-		return s;
-
 	}
 
 	/**
@@ -99,22 +171,39 @@ public class WolfScheduler {
 	 */
 
 	public String[][] getFullScheduledActivities() {
+		return getFullScheduledActivitiesView().toArray();
+	}
 
-		String[][] fullSchedule = new String[this.schedule.size()][7];
-
-		for (int i = 0; i < this.schedule.size(); i++) {
-			String[] longDisplay = schedule.get(i).getLongDisplayArray();
-
-			fullSchedule[i][0] = longDisplay[0];
-			fullSchedule[i][1] = longDisplay[1];
-			fullSchedule[i][2] = longDisplay[2];
-			fullSchedule[i][3] = longDisplay[3];
-			fullSchedule[i][4] = longDisplay[4];
-			fullSchedule[i][5] = longDisplay[5];
-			fullSchedule[i][6] = longDisplay[6];
+	/**
+	 * Gets a read-only view of the user's courses (with full information) along
+	 * with names, sections, titles, credits, instructor Id's, meeting
+	 * information, and event details. The view is reused until the schedule next
+	 * changes.
+	 * 
+	 * @return the schedule's long display table
+	 */
+	public DisplayTable getFullScheduledActivitiesView() {
+		scheduleLock.readLock().lock();
+		try {
+			return longRows.snapshot(scheduleVersion);
+		} finally {
+			scheduleLock.readLock().unlock();
 		}
+	}
 
-		return fullSchedule;
+	/**
+	 * Gets the number of changes made to the user's schedule. The version
+	 * changes whenever an activity is added or removed or the schedule is reset.
+	 * 
+	 * @return the schedule's version
+	 */
+	public int getScheduleVersion() {
+		scheduleLock.readLock().lock();
+		try {
+			return scheduleVersion;
+		} finally {
+			scheduleLock.readLock().unlock();
+		}
 	}
 
 	/**
@@ -127,13 +216,57 @@ public class WolfScheduler {
 	public void exportSchedule(String filename) {
 
 		try {
-			ActivityRecordIO.writeActivityRecords(filename, schedule);
+			ActivityRecordIO.writeActivityRecords(filename, copySchedule());
 		} catch (IOException io) {
 			throw new IllegalArgumentException("The file cannot be saved.");
 		}
 
 	}
 
+	/**
+	 * Gets a copy of the user's schedule under the given name, ready to be
+	 * exported in a batch
+	 * 
+	 * @param name name to export the schedule under, such as the student's id
+	 * @return the named copy of the schedule
+	 * @throws IllegalArgumentException if the name is null or empty
+	 */
+	public NamedSchedule toNamedSchedule(String name) {
+		return new NamedSchedule(name, copySchedule());
+	}
+
+	/**
+	 * Copies the user's schedule as it stands between changes
+	 * 
+	 * @return a copy of the schedule
+	 */
+	private ArrayList<Activity> copySchedule() {
+		scheduleLock.readLock().lock();
+		try {
+			return new ArrayList<>(schedule);
+		} finally {
+			scheduleLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Saves the schedules of many students at once, each to its own file in the
+	 * directory, using the given exporter's worker pool
+	 * 
+	 * @param schedulers schedulers keyed by the file name to save each schedule
+	 *                   to
+	 * @param directory  directory to save the schedules in
+	 * @param exporter   exporter that writes the schedules
+	 * @return the outcome and throughput of the export
+	 * @throws InterruptedException if interrupted before the export finishes
+	 */
+	public static BatchExportResult exportSchedules(Map<String, WolfScheduler> schedulers, String directory,
+			ScheduleBatchExporter exporter) throws InterruptedException {
+		Iterable<NamedSchedule> schedules = () -> schedulers.entrySet().stream()
+				.map(e -> e.getValue().toNamedSchedule(e.getKey())).iterator();
+		return exporter.exportToDirectory(directory, schedules);
+	}
+
 	/**
 	 * Gets the course that has the same name and section as provided
 	 * 
@@ -142,14 +275,129 @@ public class WolfScheduler {
 	 * @return a course with the same name and section as the parameters
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
+		return courseCatalog.getCourse(name, section);
+	}
 
-		for (int i = 0; i < courseCatalog.size(); i++) {
-			if (courseCatalog.get(i).getName().equals(name) && courseCatalog.get(i).getSection().equals(section)) {
-				return courseCatalog.get(i);
-			}
+	/**
+	 * Gets every section in the catalog with the given course name, in catalog
+	 * order
+	 * 
+	 * @param name name of the course
+	 * @return an unmodifiable list of the course's sections, empty if there are
+	 *         none
+	 */
+	public List<Course> getCoursesFromCatalog(String name) {
+		return courseCatalog.getCourses(name);
+	}
+
+	/**
+	 * Gets every section in the catalog taught by the given instructor, in
+	 * catalog order
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return an unmodifiable list of the instructor's sections, empty if there
+	 *         are none
+	 */
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		return courseCatalog.getCoursesByInstructor(instructorId);
+	}
+
+	/**
+	 * Finds every section in the catalog that matches a query, in catalog order
+	 * 
+	 * @param query filters a section must pass
+	 * @return the matching sections
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public Stream<Course> findInCatalog(CatalogQuery query) {
+		return courseCatalog.find(query);
+	}
+
+	/**
+	 * Finds one page of the sections in the catalog that match a query, in
+	 * catalog order
+	 * 
+	 * @param query    filters a section must pass
+	 * @param page     index of the page, starting at 0
+	 * @param pageSize most sections on a page
+	 * @return the matching sections on the page, empty past the last page
+	 * @throws IllegalArgumentException if the query is null, the page is
+	 *                                  negative or the page size is not positive
+	 */
+	public List<Course> findInCatalog(CatalogQuery query, int page, int pageSize) {
+		return courseCatalog.find(query, page, pageSize);
+	}
+
+	/**
+	 * Finds every section in the catalog that could be added to the schedule as
+	 * it is now, in catalog order: sections whose course is not already
+	 * scheduled and that conflict with no scheduled activity. Nothing is added
+	 * to the schedule.
+	 * 
+	 * @return the sections that fit the schedule
+	 */
+	public Stream<Course> findCompatibleInCatalog() {
+		scheduleLock.readLock().lock();
+		try {
+			return courseCatalog.findCompatible(schedule);
+		} finally {
+			scheduleLock.readLock().unlock();
 		}
+	}
 
-		return null;
+	/**
+	 * Finds every way to take one section of each of the given courses that
+	 * conflicts with nothing else in the schedule. Nothing is added to the
+	 * schedule.
+	 * 
+	 * @param names names of the courses to take
+	 * @return each combination's sections, in the order the names were given
+	 * @throws IllegalArgumentException if the names are null or hold a null or
+	 *                                  repeated name
+	 */
+	public List<List<Course>> generateSchedules(List<String> names) {
+		return newScheduleGenerator(names).findAll();
+	}
+
+	/**
+	 * Finds the best ways by a score to take one section of each of the given
+	 * courses that conflict with nothing else in the schedule. Nothing is added
+	 * to the schedule.
+	 * 
+	 * @param names  names of the courses to take
+	 * @param count  most combinations to return
+	 * @param scorer scores a combination's sections, given in the order the names
+	 *               were given; higher is better. It may be called from several
+	 *               threads at once.
+	 * @return the best combinations, best first
+	 * @throws IllegalArgumentException if the names are null or hold a null or
+	 *                                  repeated name, the count is not positive
+	 *                                  or the scorer is null
+	 */
+	public List<List<Course>> generateSchedules(List<String> names, int count,
+			ToDoubleFunction<List<Course>> scorer) {
+		return newScheduleGenerator(names).findBest(count, scorer);
+	}
+
+	/**
+	 * Builds a generator choosing among the catalog sections of the given courses
+	 * around the activities now in the schedule
+	 * 
+	 * @param names names of the courses to take
+	 * @return the generator
+	 * @throws IllegalArgumentException if the names are null or hold a null or
+	 *                                  repeated name
+	 */
+	private ScheduleGenerator newScheduleGenerator(List<String> names) {
+		if (names == null || names.contains(null) || new HashSet<>(names).size() != names.size()) {
+			throw new IllegalArgumentException("Invalid course names.");
+		}
+		scheduleLock.readLock().lock();
+		try {
+			return courseCatalog.newScheduleGenerator(names, schedule);
+		} finally {
+			scheduleLock.readLock().unlock();
+		}
 	}
 
 	/**
@@ -170,19 +418,15 @@ public class WolfScheduler {
 			return false;
 		}
 
-		for (Activity a : schedule) {
-			if (a.isDuplicate(newCourse)) {
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-			}
+		scheduleLock.writeLock().lock();
+		try {
+			checkCanSchedule(newCourse, "You are already enrolled in " + name,
+					"The course cannot be added due to a conflict.");
 
-			try {
-				a.checkConflict(newCourse);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-			}
+			scheduled(newCourse);
+		} finally {
+			scheduleLock.writeLock().unlock();
 		}
-
-		schedule.add(newCourse);
 		return true;
 	}
 
@@ -195,17 +439,25 @@ public class WolfScheduler {
 
 	public boolean removeActivityFromSchedule(int idx) {
 
-		if (idx < 0 || idx >= schedule.size()) {
-			return false;
-		}
-
+		scheduleLock.writeLock().lock();
 		try {
-			schedule.remove(idx);
-		} catch (IndexOutOfBoundsException e) {
-			return false;
-		}
+			if (idx < 0 || idx >= schedule.size()) {
+				return false;
+			}
 
-		return true;
+			try {
+				scheduleIndex.remove(schedule.remove(idx));
+			} catch (IndexOutOfBoundsException e) {
+				return false;
+			}
+			shortRows.remove(idx);
+			longRows.remove(idx);
+			scheduleVersion++;
+
+			return true;
+		} finally {
+			scheduleLock.writeLock().unlock();
+		}
 	}
 
 	/**
@@ -238,7 +490,16 @@ public class WolfScheduler {
 	 */
 
 	public void resetSchedule() {
-		schedule.clear();
+		scheduleLock.writeLock().lock();
+		try {
+			schedule.clear();
+			scheduleIndex.clear();
+			shortRows.clear();
+			longRows.clear();
+			scheduleVersion++;
+		} finally {
+			scheduleLock.writeLock().unlock();
+		}
 	}
 
 	/**
@@ -256,21 +517,80 @@ public class WolfScheduler {
 			String eventDetails) {
 		Event newEvent = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
 
-		for (Activity a : schedule) {
-			if (a.isDuplicate(newEvent)) {
-				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
+		scheduleLock.writeLock().lock();
+		try {
+			checkCanSchedule(newEvent, "You have already created an event called " + eventTitle,
+					"The event cannot be added due to a conflict.");
 
-			}
+			scheduled(newEvent);
+		} finally {
+			scheduleLock.writeLock().unlock();
+		}
 
-			try {
-				a.checkConflict(newEvent);
-			} catch (ConflictException ce) {
-				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
+	}
+
+	/**
+	 * Appends an activity that has passed its checks to the schedule, its index
+	 * and its display rows. Must be called while holding the schedule's write
+	 * lock.
+	 * 
+	 * @param activity activity to add
+	 */
+	private void scheduled(Activity activity) {
+		schedule.add(activity);
+		scheduleIndex.add(activity);
+		shortRows.add(activity.getShortDisplayArray());
+		longRows.add(activity.getLongDisplayArray());
+		scheduleVersion++;
+	}
+
+	/**
+	 * Checks that an activity can be added to the schedule. Must be called while
+	 * holding the schedule's write lock. When the activity
+	 * both duplicates and conflicts with scheduled activities, the problem with
+	 * the activity that comes first in the schedule is reported.
+	 * 
+	 * @param activity         activity to check
+	 * @param duplicateMessage message used if the activity is a duplicate
+	 * @param conflictMessage  message used if the activity has a conflict
+	 * @throws IllegalArgumentException if the activity is a duplicate of or
+	 *                                  conflicts with a scheduled activity
+	 */
+	private void checkCanSchedule(Activity activity, String duplicateMessage, String conflictMessage) {
+		Activity duplicate = scheduleIndex.findDuplicate(activity);
+		List<Activity> conflicts = scheduleIndex.findConflicts(activity);
+
+		if (conflicts.isEmpty()) {
+			if (duplicate != null) {
+				throw new IllegalArgumentException(duplicateMessage);
 			}
+			return;
 		}
+		if (duplicate != null) {
+			int firstConflict = schedule.size();
+			for (Activity a : conflicts) {
+				firstConflict = Math.min(firstConflict, positionInSchedule(a));
+			}
+			if (positionInSchedule(duplicate) <= firstConflict) {
+				throw new IllegalArgumentException(duplicateMessage);
+			}
+		}
+		throw new IllegalArgumentException(conflictMessage);
+	}
 
-		schedule.add(newEvent);
-
+	/**
+	 * Finds where a scheduled activity sits in the schedule
+	 * 
+	 * @param activity scheduled activity
+	 * @return the activity's index in the schedule
+	 */
+	private int positionInSchedule(Activity activity) {
+		for (int i = 0; i < schedule.size(); i++) {
+			if (schedule.get(i) == activity) {
+				return i;
+			}
+		}
+		return schedule.size();
 	}
 
-}
+}
\ No newline at end of file
@@ -0,0 +1,602 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Serves scheduler operations over HTTP to many users at once. Every session
+ * gets its own WolfScheduler, and all of them share one CourseCatalog. Each
+ * request runs on its own virtual thread when the JVM supports them, and on a
+ * pooled thread otherwise. The server only listens on the loopback address.
+ * 
+ * Sessions are bounded: a session that sees no request for the idle timeout
+ * expires, and once the server holds its most sessions a new session is only
+ * opened if an expired one can make room for it.
+ * 
+ * No operation takes a request body, so a body is read and thrown away a small
+ * buffer at a time, and a body over 64 KiB is refused with 413. An operation
+ * that fails unexpectedly is answered with 500.
+ * 
+ * Unless the sun.net.httpserver.nodelay property is already set, loading this
+ * class sets it so responses are not held back by Nagle's algorithm. The JDK
+ * reads it once, so it only takes effect if no other HttpServer was created
+ * first.
+ * 
+ * Responses are plain text. The catalog is sent one record per line in the
+ * catalog file format, a schedule is sent as the scheduler displays it, one
+ * row per line with tab separated columns, and an export is the exact schedule
+ * file ActivityRecordIO writes.
+ * 
+ * <pre>
+ * GET    /catalog[?name=N]                      catalog, or the sections of N
+ * POST   /sessions                              new session, returns its id, or
+ *                                               503 if there is no room
+ * DELETE /sessions/{id}                         ends the session
+ * GET    /sessions/{id}/schedule                the session's schedule rows
+ * POST   /sessions/{id}/courses?name=N&amp;section=S adds a course
+ * POST   /sessions/{id}/events?title=T&amp;days=D&amp;start=S&amp;end=E[&amp;details=X]
+ *                                               adds an event
+ * DELETE /sessions/{id}/activities/{index}      removes an activity
+ * GET    /sessions/{id}/export                  the schedule as an export file
+ * </pre>
+ * 
+ * @author Dinesh Karnati
+ */
+public class ScheduleServer implements AutoCloseable {
+
+	/** Number of connections that may wait to be accepted */
+	private static final int BACKLOG = 1024;
+	/** Most sessions open at once unless given otherwise */
+	private static final int DEFAULT_MAX_SESSIONS = 10000;
+	/** Time a session may go without a request before it expires, unless given otherwise */
+	private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	/** Time close waits for running requests to finish, in milliseconds */
+	private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+	/** Largest request body accepted, in bytes; no operation reads a body */
+	private static final long MAX_BODY_BYTES = 64 << 10;
+	/** Size of the buffer a request body is discarded through */
+	private static final int DISCARD_BUFFER_BYTES = 4096;
+
+	static {
+		// The JDK server writes a response's headers and body separately, which
+		// Nagle's algorithm and delayed ACKs turn into a 40 ms wait per request
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	/** Catalog shared by every session */
+	private final CourseCatalog catalog;
+	/** Each session keyed by session id */
+	private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+	/** Most sessions open at once */
+	private final int maxSessions;
+	/** Time a session may go without a request before it expires, in nanoseconds */
+	private final long idleTimeoutNanos;
+	/** Runs each request */
+	private final ExecutorService executor;
+	/** Underlying HTTP server */
+	private final HttpServer server;
+	/** Guards the running request count and the closing flag */
+	private final Object requestLock = new Object();
+	/** Number of requests being handled */
+	private int runningRequests;
+	/** Whether the server is closing and turns new requests away */
+	private boolean closing;
+
+	/**
+	 * Constructs a server for the catalog on the loopback address, holding at
+	 * most 10000 sessions that expire after 30 idle minutes. The server does not
+	 * accept requests until it is started.
+	 * 
+	 * @param catalog catalog shared by every session
+	 * @param port    port to listen on, or 0 for any free port
+	 * @throws IOException              if the port cannot be bound
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public ScheduleServer(CourseCatalog catalog, int port) throws IOException {
+		this(catalog, port, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Constructs a server for the catalog on the loopback address. The server
+	 * does not accept requests until it is started.
+	 * 
+	 * @param catalog           catalog shared by every session
+	 * @param port              port to listen on, or 0 for any free port
+	 * @param maxSessions       most sessions open at once
+	 * @param idleTimeoutMillis time a session may go without a request before it
+	 *                          expires, in milliseconds
+	 * @throws IOException              if the port cannot be bound
+	 * @throws IllegalArgumentException if the catalog is null, or the session
+	 *                                  limit or idle timeout is not positive
+	 */
+	public ScheduleServer(CourseCatalog catalog, int port, int maxSessions, long idleTimeoutMillis)
+			throws IOException {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		if (maxSessions < 1 || idleTimeoutMillis < 1) {
+			throw new IllegalArgumentException("Invalid session limits.");
+		}
+		this.catalog = catalog;
+		this.maxSessions = maxSessions;
+		this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+		this.executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+	}
+
+	/**
+	 * Creates an executor that runs each task on a new virtual thread, falling
+	 * back to a cached pool of platform threads on JVMs without virtual threads
+	 * 
+	 * @return the executor
+	 */
+	private static ExecutorService newRequestExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Starts accepting requests
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Gets the port the server is listening on
+	 * 
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Gets the number of open sessions, including expired sessions that have not
+	 * been removed yet
+	 * 
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops the server, waiting up to five seconds for requests already running
+	 * to finish. New requests are turned away while it waits, and requests still
+	 * running after that are interrupted.
+	 */
+	@Override
+	public void close() {
+		boolean interrupted = false;
+		synchronized (requestLock) {
+			closing = true;
+			long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+			long remaining = CLOSE_TIMEOUT_MILLIS;
+			while (runningRequests > 0 && remaining > 0 && !interrupted) {
+				try {
+					requestLock.wait(remaining);
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+				remaining = deadline - System.currentTimeMillis();
+			}
+		}
+		server.stop(0);
+		executor.shutdownNow();
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Counts a request as running, unless the server is closing
+	 * 
+	 * @return true if the request may run
+	 */
+	private boolean beginRequest() {
+		synchronized (requestLock) {
+			if (closing) {
+				return false;
+			}
+			runningRequests++;
+			return true;
+		}
+	}
+
+	/**
+	 * Counts a request as finished, waking close if it is waiting
+	 */
+	private void endRequest() {
+		synchronized (requestLock) {
+			runningRequests--;
+			requestLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Opens a new session. When the server is full, expired sessions are removed
+	 * first to make room.
+	 * 
+	 * @return the new session's id, or null if there is no room
+	 */
+	private synchronized String openSession() {
+		long now = System.nanoTime();
+		if (sessions.size() >= maxSessions) {
+			sessions.values().removeIf(s -> s.isExpired(now, idleTimeoutNanos));
+			if (sessions.size() >= maxSessions) {
+				return null;
+			}
+		}
+		String id = UUID.randomUUID().toString();
+		sessions.put(id, new Session(new WolfScheduler(catalog), now));
+		return id;
+	}
+
+	/**
+	 * Finds an open session and marks it as used. An expired session is removed
+	 * and not found.
+	 * 
+	 * @param id session id
+	 * @return the session's scheduler, or null if there is no such session
+	 */
+	private WolfScheduler useSession(String id) {
+		Session session = sessions.get(id);
+		if (session == null) {
+			return null;
+		}
+		long now = System.nanoTime();
+		if (session.isExpired(now, idleTimeoutNanos)) {
+			sessions.remove(id, session);
+			return null;
+		}
+		session.lastUsed = now;
+		return session.scheduler;
+	}
+
+	/**
+	 * Handles a request, counting it as running so that close can wait for it,
+	 * or turns it away if the server is closing
+	 * 
+	 * @param exchange the request and its response
+	 * @throws IOException if the response cannot be sent
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+		if (!beginRequest()) {
+			send(exchange, 503, "Server is closing.\n");
+			return;
+		}
+		try {
+			route(exchange);
+		} finally {
+			endRequest();
+		}
+	}
+
+	/**
+	 * Runs the operation for a request's method and path, and sends the response
+	 * 
+	 * @param exchange the request and its response
+	 * @throws IOException if the response cannot be sent
+	 */
+	private void route(HttpExchange exchange) throws IOException {
+		if (!discardBody(exchange)) {
+			send(exchange, 413, "Request body too large.\n");
+			return;
+		}
+
+		String method = exchange.getRequestMethod();
+		String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+		Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+		try {
+			if (path.length == 1 && "catalog".equals(path[0])) {
+				requireMethod(method, "GET");
+				String name = query.get("name");
+				send(exchange, 200, lines(name == null ? catalog.getCourses() : catalog.getCourses(name)));
+			} else if (path.length == 1 && "sessions".equals(path[0])) {
+				requireMethod(method, "POST");
+				String id = openSession();
+				if (id == null) {
+					send(exchange, 503, "Too many sessions.\n");
+				} else {
+					send(exchange, 201, id + "\n");
+				}
+			} else if (path.length >= 2 && "sessions".equals(path[0])) {
+				WolfScheduler scheduler = useSession(path[1]);
+				if (scheduler == null) {
+					send(exchange, 404, "Invalid session.\n");
+				} else {
+					handleSession(exchange, method, path, query, scheduler);
+				}
+			} else {
+				send(exchange, 404, "Invalid path.\n");
+			}
+		} catch (MethodNotAllowedException e) {
+			send(exchange, 405, "Invalid method.\n");
+		} catch (IllegalArgumentException e) {
+			send(exchange, 400, e.getMessage() + "\n");
+		} catch (RuntimeException e) {
+			send(exchange, 500, "Internal error.\n");
+		}
+	}
+
+	/**
+	 * Reads and throws away a request's body, which no operation uses, without
+	 * holding more than a small buffer of it at once
+	 * 
+	 * @param exchange the request and its response
+	 * @return false if the body is larger than a request may send
+	 * @throws IOException if the body cannot be read
+	 */
+	private static boolean discardBody(HttpExchange exchange) throws IOException {
+		String length = exchange.getRequestHeaders().getFirst("Content-Length");
+		try {
+			if (length != null && Long.parseLong(length.trim()) > MAX_BODY_BYTES) {
+				return false;
+			}
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		try (InputStream body = exchange.getRequestBody()) {
+			byte[] buf = new byte[DISCARD_BUFFER_BYTES];
+			long total = 0;
+			for (int read = body.read(buf); read >= 0; read = body.read(buf)) {
+				total += read;
+				if (total > MAX_BODY_BYTES) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Runs an operation on a session's schedule
+	 * 
+	 * @param exchange  the request and its response
+	 * @param method    request method
+	 * @param path      request path split into segments
+	 * @param query     request query parameters
+	 * @param scheduler the session's scheduler
+	 * @throws IOException if the response cannot be sent
+	 */
+	private void handleSession(HttpExchange exchange, String method, String[] path, Map<String, String> query,
+			WolfScheduler scheduler) throws IOException {
+		String operation = path.length > 2 ? path[2] : "";
+
+		if (path.length == 2) {
+			requireMethod(method, "DELETE");
+			sessions.remove(path[1]);
+			send(exchange, 204, null);
+		} else if (path.length == 3 && "schedule".equals(operation)) {
+			requireMethod(method, "GET");
+			send(exchange, 200, rows(scheduler.getScheduledActivities()));
+		} else if (path.length == 3 && "export".equals(operation)) {
+			requireMethod(method, "GET");
+			sendExport(exchange, scheduler.toNamedSchedule(path[1]).getActivities());
+		} else if (path.length == 3 && "courses".equals(operation)) {
+			requireMethod(method, "POST");
+			if (scheduler.addCourseToSchedule(query.get("name"), query.get("section"))) {
+				send(exchange, 201, null);
+			} else {
+				send(exchange, 404, "Invalid course.\n");
+			}
+		} else if (path.length == 3 && "events".equals(operation)) {
+			requireMethod(method, "POST");
+			String details = query.get("details");
+			scheduler.addEventToSchedule(query.get("title"), query.get("days"), parseInt(query.get("start")),
+					parseInt(query.get("end")), details == null ? "" : details);
+			send(exchange, 201, null);
+		} else if (path.length == 4 && "activities".equals(operation)) {
+			requireMethod(method, "DELETE");
+			if (scheduler.removeActivityFromSchedule(parseInt(path[3]))) {
+				send(exchange, 204, null);
+			} else {
+				send(exchange, 404, "Invalid activity.\n");
+			}
+		} else {
+			send(exchange, 404, "Invalid path.\n");
+		}
+	}
+
+	/**
+	 * Checks that a request uses the method its path expects
+	 * 
+	 * @param method   the request's method
+	 * @param expected the expected method
+	 * @throws MethodNotAllowedException if the methods differ
+	 */
+	private static void requireMethod(String method, String expected) {
+		if (!expected.equals(method)) {
+			throw new MethodNotAllowedException();
+		}
+	}
+
+	/**
+	 * Parses a number from a request
+	 * 
+	 * @param value text of the number
+	 * @return the number
+	 * @throws IllegalArgumentException if the text is missing or not a number
+	 */
+	private static int parseInt(String value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Invalid number.");
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number.");
+		}
+	}
+
+	/**
+	 * Parses the parameters of a URL query. When a parameter repeats, its first
+	 * value is kept.
+	 * 
+	 * @param rawQuery the query as it appears in the URL, or null
+	 * @return the decoded parameters
+	 */
+	private static Map<String, String> parseQuery(String rawQuery) {
+		HashMap<String, String> params = new HashMap<>();
+		if (rawQuery == null) {
+			return params;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int eq = pair.indexOf('=');
+			String key = eq < 0 ? pair : pair.substring(0, eq);
+			String value = eq < 0 ? "" : pair.substring(eq + 1);
+			params.putIfAbsent(URLDecoder.decode(key, StandardCharsets.UTF_8),
+					URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return params;
+	}
+
+	/**
+	 * Formats activities one per line, as they are written to a file
+	 * 
+	 * @param activities activities to format
+	 * @return the formatted activities
+	 */
+	private static String lines(List<? extends Activity> activities) {
+		StringBuilder sb = new StringBuilder();
+		for (Activity a : activities) {
+			sb.append(a.toString()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Formats display rows one per line, with tab separated columns
+	 * 
+	 * @param rows rows to format
+	 * @return the formatted rows
+	 */
+	private static String rows(String[][] rows) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : rows) {
+			sb.append(String.join("\t", row)).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Sends a schedule as the file ActivityRecordIO writes for it, encoded in
+	 * the platform's default charset
+	 * 
+	 * @param exchange   the request and its response
+	 * @param activities activities in the schedule
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void sendExport(HttpExchange exchange, List<? extends Activity> activities) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type",
+				"text/plain; charset=" + Charset.defaultCharset().name());
+		exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"schedule.txt\"");
+		exchange.sendResponseHeaders(200, 0);
+		try (OutputStream out = exchange.getResponseBody()) {
+			ActivityRecordIO.writeActivityRecords(out, activities);
+		}
+	}
+
+	/**
+	 * Sends a response
+	 * 
+	 * @param exchange the request and its response
+	 * @param status   response status code
+	 * @param body     response body, or null for none
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			exchange.close();
+			return;
+		}
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * A user's scheduler along with when it was last used
+	 */
+	private static class Session {
+
+		/** The session's scheduler */
+		private final WolfScheduler scheduler;
+		/** Time of the session's last request, from System.nanoTime */
+		private volatile long lastUsed;
+
+		/**
+		 * Constructs a session
+		 * 
+		 * @param scheduler the session's scheduler
+		 * @param now       current time, from System.nanoTime
+		 */
+		Session(WolfScheduler scheduler, long now) {
+			this.scheduler = scheduler;
+			this.lastUsed = now;
+		}
+
+		/**
+		 * Checks whether the session has gone without a request for too long
+		 * 
+		 * @param now              current time, from System.nanoTime
+		 * @param idleTimeoutNanos time a session may go without a request
+		 * @return true if the session has expired
+		 */
+		boolean isExpired(long now, long idleTimeoutNanos) {
+			return now - lastUsed > idleTimeoutNanos;
+		}
+
+	}
+
+	/**
+	 * Thrown when a request uses a method its path does not support
+	 */
+	private static class MethodNotAllowedException extends RuntimeException {
+
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+
+	}
+
+}
@@ -31,6 +31,7 @@ import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.DisplayTable;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -694,7 +695,7 @@ public class WolfSchedulerGUI extends JFrame {
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
 			/** Data stored in the table */
-			private Object [][] data;
+			private DisplayTable data;
 			/** Boolean flag if the model applies to the catalog or schedule */
 			private boolean catalog;
 			
@@ -723,7 +724,7 @@ public class WolfSchedulerGUI extends JFrame {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.getRowCount();
 			}
 			
 			/**
@@ -745,31 +746,20 @@ public class WolfSchedulerGUI extends JFrame {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
+					return data.getValueAt(row, col);
 				} catch (ArrayIndexOutOfBoundsException e) {
 					return null;
 				}
 			}
 			
-			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
 			/**
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
 				if (catalog) {
-					data = scheduler.getCourseCatalog();
+					data = scheduler.getCourseCatalogView();
 				} else {
-					data = scheduler.getScheduledActivities();
+					data = scheduler.getScheduledActivitiesView();
 				}
 			}
 		}
@@ -886,7 +876,7 @@ public class WolfSchedulerGUI extends JFrame {
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
 			/** Data stored in the table */
-			private Object [][] data;
+			private DisplayTable data;
 			
 			/**
 			 * Constructs the {@link CourseTableModel} by requesting the latest information
@@ -911,7 +901,7 @@ public class WolfSchedulerGUI extends JFrame {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.getRowCount();
 			}
 			
 			/**
@@ -933,28 +923,17 @@ public class WolfSchedulerGUI extends JFrame {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
+					return data.getValueAt(row, col);
 				} catch (ArrayIndexOutOfBoundsException e) {
 					return null;
 				}
 			}
 			
-			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
 			/**
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				data = scheduler.getFullScheduledActivities();
+				data = scheduler.getFullScheduledActivitiesView();
 			}
 		}
 		